@@ -0,0 +1,121 @@
+package geometries;
+
+import geometries.Intersectable.AABB;
+import geometries.Intersectable.GeoPoint;
+import org.openjdk.jmh.annotations.*;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks of the intersections of a ray with the geometries and with a bounding box.
+ * The geometries are around the origin, inside the unit cube, and the rays are cast from
+ * a fixed seed towards a square that is twice as wide, so a benchmark measures a mix of hits
+ * and misses, as in a render. Every call intersects the next ray of the set.
+ *
+ * @author Avidan and Ziv
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionBenchmark {
+    /**
+     * Amount of rays of the set (a power of 2)
+     */
+    private static final int RAYS = 1024;
+
+    /**
+     * The intersected geometries
+     */
+    private final Sphere sphere = new Sphere(new Point(0, 0, 0), 1d);
+    private final Plane plane = new Plane(new Point(0, 0, -1), new Vector(0, 0.2, 1));
+    private final Triangle triangle = new Triangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(0, 1, 0));
+    private final Polygon polygon = new Polygon(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(1, 1, 0),
+            new Point(-1, 1, 0));
+    private final AABB box = new AABB(new Point(-1, -1, -1), new Point(1, 1, 1));
+
+    /**
+     * The rays
+     */
+    private final Ray[] rays = new Ray[RAYS];
+    /**
+     * Index of the next ray
+     */
+    private int next = 0;
+
+    /**
+     * Casts the rays from above the geometries, and checks that every bounded geometry is both
+     * hit and missed by them, so its benchmark doesn't time a call that does no work
+     *
+     * @throws IllegalStateException if a geometry is always hit or always missed
+     */
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(11);
+        Point head = new Point(0, 0, 10);
+        for (int i = 0; i < RAYS; ++i)
+            this.rays[i] = new Ray(head,
+                    new Point(random.nextDouble(-2, 2), random.nextDouble(-2, 2), 0).subtract(head).normalize());
+        for (Intersectable geometry : List.of(this.sphere, this.triangle, this.polygon)) {
+            int hits = 0;
+            for (Ray ray : this.rays)
+                if (geometry.findGeoIntersections(ray) != null) ++hits;
+            if (hits == 0 || hits == RAYS)
+                throw new IllegalStateException(geometry.getClass().getSimpleName() + " isn't hit by a mix of rays");
+        }
+    }
+
+    /**
+     * @return the next ray of the set
+     */
+    private Ray nextRay() {
+        return this.rays[this.next++ & (RAYS - 1)];
+    }
+
+    /**
+     * @return intersections of a ray with the sphere
+     */
+    @Benchmark
+    public List<GeoPoint> sphere() {
+        return this.sphere.findGeoIntersections(nextRay());
+    }
+
+    /**
+     * @return intersections of a ray with the plane
+     */
+    @Benchmark
+    public List<GeoPoint> plane() {
+        return this.plane.findGeoIntersections(nextRay());
+    }
+
+    /**
+     * @return intersections of a ray with the triangle
+     */
+    @Benchmark
+    public List<GeoPoint> triangle() {
+        return this.triangle.findGeoIntersections(nextRay());
+    }
+
+    /**
+     * @return intersections of a ray with the polygon
+     */
+    @Benchmark
+    public List<GeoPoint> polygon() {
+        return this.polygon.findGeoIntersections(nextRay());
+    }
+
+    /**
+     * @return whether a ray intersects the bounding box
+     */
+    @Benchmark
+    public boolean aabb() {
+        return this.box.intersect(nextRay(), Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,167 @@
+package primitives;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks of the operations of the primitives (Vector, Point, Double3 and Color).
+ * The operands are drawn once per trial from a fixed seed, so every run measures the same values,
+ * and every result is returned so the JIT can't eliminate the operation.
+ *
+ * @author Avidan and Ziv
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+    /**
+     * Amount of colors averaged by {@link #colorAverage()} (e.g. the rays of a pixel)
+     */
+    @Param({"16", "100"})
+    public int colors;
+
+    /**
+     * Operands of the vector operations
+     */
+    private Vector v1, v2;
+    /**
+     * Operands of the point operations
+     */
+    private Point p1, p2;
+    /**
+     * Operands of the Double3 operations
+     */
+    private Double3 d1, d2;
+    /**
+     * The averaged colors
+     */
+    private List<Color> colorList;
+
+    /**
+     * Draws the operands
+     */
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(7);
+        this.v1 = new Vector(random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1));
+        this.v2 = new Vector(random.nextDouble(-1, 1), random.nextDouble(-1, 1), random.nextDouble(-1, 1));
+        this.p1 = new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+        this.p2 = new Point(random.nextDouble(-100, 100), random.nextDouble(-100, 100), random.nextDouble(-100, 100));
+        this.d1 = new Double3(random.nextDouble(), random.nextDouble(), random.nextDouble());
+        this.d2 = new Double3(random.nextDouble(), random.nextDouble(), random.nextDouble());
+        this.colorList = new ArrayList<>(this.colors);
+        for (int i = 0; i < this.colors; ++i)
+            this.colorList.add(new Color(random.nextDouble(255), random.nextDouble(255), random.nextDouble(255)));
+    }
+
+    /**
+     * @return sum of the vectors
+     */
+    @Benchmark
+    public Vector vectorAdd() {
+        return this.v1.add(this.v2);
+    }
+
+    /**
+     * @return scaled vector
+     */
+    @Benchmark
+    public Vector vectorScale() {
+        return this.v1.scale(2.5);
+    }
+
+    /**
+     * @return dot product of the vectors
+     */
+    @Benchmark
+    public double vectorDotProduct() {
+        return this.v1.dotProduct(this.v2);
+    }
+
+    /**
+     * @return cross product of the vectors
+     */
+    @Benchmark
+    public Vector vectorCrossProduct() {
+        return this.v1.crossProduct(this.v2);
+    }
+
+    /**
+     * @return normalized vector
+     */
+    @Benchmark
+    public Vector vectorNormalize() {
+        return this.v1.normalize();
+    }
+
+    /**
+     * @return length of the vector
+     */
+    @Benchmark
+    public double vectorLength() {
+        return this.v1.length();
+    }
+
+    /**
+     * @return point moved by the vector
+     */
+    @Benchmark
+    public Point pointAdd() {
+        return this.p1.add(this.v1);
+    }
+
+    /**
+     * @return vector between the points
+     */
+    @Benchmark
+    public Vector pointSubtract() {
+        return this.p1.subtract(this.p2);
+    }
+
+    /**
+     * @return distance between the points
+     */
+    @Benchmark
+    public double pointDistance() {
+        return this.p1.distance(this.p2);
+    }
+
+    /**
+     * @return sum of the triads
+     */
+    @Benchmark
+    public Double3 double3Add() {
+        return this.d1.add(this.d2);
+    }
+
+    /**
+     * @return product of the triads
+     */
+    @Benchmark
+    public Double3 double3Product() {
+        return this.d1.product(this.d2);
+    }
+
+    /**
+     * @return scaled triad
+     */
+    @Benchmark
+    public Double3 double3Scale() {
+        return this.d1.scale(2.5);
+    }
+
+    /**
+     * @return average of the colors
+     */
+    @Benchmark
+    public Color colorAverage() {
+        return Color.average(this.colorList);
+    }
+}
@@ -0,0 +1,229 @@
+package renderer;
+
+import geometries.Plane;
+import geometries.Sphere;
+import geometries.Triangle;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.PointLight;
+import lighting.SpotLight;
+import primitives.*;
+import scene.Scene;
+
+import static java.awt.Color.*;
+
+/**
+ * The scenes of the rendering tests (OurImage, StarOfDavid and ReflectionRefractionTests),
+ * rebuilt for the render benchmarks: every scene comes with the camera of its test, without
+ * an image writer, so a benchmark renders it at its own resolution and doesn't write a file.
+ *
+ * @author Avidan and Ziv
+ */
+final class BenchmarkScenes {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private BenchmarkScenes() {
+    }
+
+    /**
+     * Creates the camera of a test scene
+     *
+     * @param name the name of the test that renders the scene
+     * @return the camera, with the ray tracer of the scene
+     * @throws IllegalArgumentException if there is no such scene
+     */
+    static Camera camera(String name) {
+        return switch (name) {
+            case "ourImage1" -> ourImage1();
+            case "ourImage2" -> ourImage2();
+            case "ourImageFinalPic" -> ourImageFinalPic();
+            case "starOfDavid3D" -> starOfDavid3D();
+            case "twoSpheres" -> twoSpheres();
+            case "twoSpheresOnMirrors" -> twoSpheresOnMirrors();
+            case "trianglesTransparentSphere" -> trianglesTransparentSphere();
+            default -> throw new IllegalArgumentException("Unknown scene " + name);
+        };
+    }
+
+    /**
+     * @return camera of OurImage.ourImage1
+     */
+    private static Camera ourImage1() {
+        Scene scene = new Scene("ourImage1");
+        Material material = new Material().setKd(0.5).setKs(0.5).setNShininess(301);
+        Material trianglesMaterial = new Material().setKd(new Double3(0.2, 0.6, 0.4))
+                .setKs(new Double3(0.2, 0.4, 0.3)).setNShininess(301);
+        Point[] vertices = {new Point(-110, -110, -150), new Point(95, 100, -150),
+                new Point(110, -110, -150), new Point(-75, 78, 100)};
+        scene.geometries.add(
+                new Triangle(vertices[0], vertices[1], vertices[2]).setMaterial(trianglesMaterial),
+                new Triangle(vertices[0], vertices[1], vertices[3]).setMaterial(trianglesMaterial),
+                new Triangle(vertices[0], vertices[2], vertices[3])
+                        .setMaterial(new Material().setKd(0.4).setKs(0.4).setNShininess(100)),
+                new Sphere(new Point(-30, 30, -30), 30d).setEmission(new Color(BLUE).reduce(2)).setMaterial(material),
+                new Sphere(new Point(20, -30, -30), 30d).setEmission(new Color(30, 10, 100)).setMaterial(material));
+        Point sphereLightPosition = new Point(-50, -50, 25);
+        scene.lights.add(new DirectionalLight(Color.WHITE, new Vector(1, 1, -1)));
+        scene.lights.add(new PointLight(new Color(800, 500, 0), sphereLightPosition).setKl(0.00001).setKq(0.000001));
+        scene.lights.add(new PointLight(new Color(800, 0, 250), sphereLightPosition).setKl(0.00001).setKq(0.000001));
+        scene.lights.add(new SpotLight(new Color(800, 500, 250), new Point(30, 10, -100), new Vector(-2, -2, -2))
+                .setKl(0.00001).setKq(0.00000001));
+        return new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(150, 150).setVPDistance(1000)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of OurImage.ourImage2, with its depth of field
+     */
+    private static Camera ourImage2() {
+        Scene scene = new Scene("ourImage2");
+        Material material = new Material().setKd(0.5).setKs(0.5).setNShininess(301);
+        scene.geometries.add(
+                new Sphere(new Point(0, -50, 0), 30d).setEmission(new Color(100, 30, 40)).setMaterial(material),
+                new Sphere(new Point(0, 0, -100), 30d).setEmission(new Color(100, 100, 100)).setMaterial(material),
+                new Sphere(new Point(0, 50, 100), 30d).setEmission(new Color(100, 100, 100)).setMaterial(material));
+        scene.lights.add(new DirectionalLight(Color.WHITE, new Vector(1, 1, -1)));
+        return new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(150, 150).setVPDistance(1000)
+                .setDof(3, 2.8, 10)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of OurImage.ourImageFinalPic, with its depth of field
+     */
+    private static Camera ourImageFinalPic() {
+        Scene scene = new Scene("ourImageFinalPic");
+        Color pyramidColor = new Color(0, 30, 150);
+        Material pyramidMaterial = new Material().setKd(0.5).setKs(0.5).setNShininess(100);
+        scene.geometries.add(
+                new Plane(new Point(0, 0, 0), new Vector(0, 1, 0)).setEmission(new Color(50, 50, 50))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setKr(0.5).setNShininess(70)),
+                new Sphere(new Point(-50, 15, -50), 15d).setEmission(new Color(180, 0, 0))
+                        .setMaterial(new Material().setKd(0.4).setKs(0.8).setNShininess(70).setKt(0.8)),
+                new Sphere(new Point(-22, 13, -50), 13d).setEmission(new Color(0, 180, 0))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(20).setKt(0.2)),
+                new Sphere(new Point(2, 11, -50), 11d).setEmission(new Color(0, 0, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.2)),
+                new Sphere(new Point(22, 9, -50), 9d).setEmission(new Color(0, 255, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.9)),
+                new Sphere(new Point(38, 7, -50), 7d).setEmission(new Color(255, 0, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.2)),
+                new Sphere(new Point(40, 20, 40), 20d).setEmission(new Color(0, 0, 100))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(40).setKt(0.5)),
+                new Sphere(new Point(40, 20, 40), 10d).setEmission(new Color(100, 0, 0))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(40).setKr(0.5)),
+                new Sphere(new Point(40, 20, 40), 15d).setEmission(new Color(0, 100, 0))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(40).setKt(0.5)),
+                new Sphere(new Point(-50, 15, -300), 15d).setEmission(new Color(180, 0, 0))
+                        .setMaterial(new Material().setKd(0.4).setKs(0.8).setNShininess(70).setKt(0.8)),
+                new Sphere(new Point(-22, 13, -300), 13d).setEmission(new Color(0, 180, 0))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(20).setKt(0.2)),
+                new Sphere(new Point(2, 11, -300), 11d).setEmission(new Color(0, 0, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.2)),
+                new Sphere(new Point(22, 9, -300), 9d).setEmission(new Color(0, 255, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.2)),
+                new Sphere(new Point(38, 7, -300), 7d).setEmission(new Color(255, 0, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(40).setKr(0.2)),
+                new Triangle(new Point(-17.89, 10, -16.97 + 45), new Point(0, 0, 45), new Point(-4.41, 0, -17.68 + 45))
+                        .setEmission(pyramidColor).setMaterial(pyramidMaterial),
+                new Triangle(new Point(-17.89, 10, -16.97 + 45), new Point(-4.41, 0, -17.68 + 45),
+                        new Point(7.68, 0, 5.59 + 45))
+                        .setEmission(pyramidColor).setMaterial(pyramidMaterial),
+                new Triangle(new Point(-17.89, 10, -16.97 + 45), new Point(7.68, 0, 5.59 + 45),
+                        new Point(-27.68, 0, -5.59 + 45))
+                        .setEmission(pyramidColor).setMaterial(pyramidMaterial));
+        scene.lights.add(new DirectionalLight(Color.WHITE, new Vector(10, -15, -15)));
+        return new Camera(new Point(25, 50, 50), new Vector(0, -1, -1), new Vector(0, 1, -1))
+                .setVPSize(2500, 2500).setVPDistance(1000)
+                .setDof(70, 2.2, 100)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of StarOfDavid.starOfDavid3D
+     */
+    private static Camera starOfDavid3D() {
+        Scene scene = new Scene("starOfDavid3D");
+        scene.setAmbientLight(new AmbientLight(new Color(WHITE), 0.15));
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -200), 60d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(30)),
+                new Triangle(new Point(-50, -86.602540378443864, -100), new Point(50, -86.602540378443864, -100),
+                        new Point(0, 0, -100))
+                        .setEmission(new Color(WHITE)).setMaterial(new Material().setKs(0.8).setNShininess(60)),
+                new Triangle(new Point(-50, 86.602540378443864, -100), new Point(50, 86.602540378443864, -100),
+                        new Point(100, 0, -100))
+                        .setEmission(new Color(WHITE)).setMaterial(new Material().setKs(0.8).setNShininess(60)));
+        scene.lights.add(new SpotLight(new Color(700, 400, 400), new Point(40, 40, 115), new Vector(-1, -1, -4))
+                .setKl(4E-4).setKq(2E-5));
+        return new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(200, 200).setVPDistance(1000)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of ReflectionRefractionTests.twoSpheres
+     */
+    private static Camera twoSpheres() {
+        Scene scene = new Scene("twoSpheres");
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -50), 50d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.4).setKs(0.3).setNShininess(100).setKt(0.3)),
+                new Sphere(new Point(0, 0, -50), 25d).setEmission(new Color(RED))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(100)));
+        scene.lights.add(new SpotLight(new Color(1000, 600, 0), new Point(-100, -100, 500), new Vector(-1, -1, -2))
+                .setKl(0.0004).setKq(0.0000006));
+        return new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(150, 150).setVPDistance(1000)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of ReflectionRefractionTests.twoSpheresOnMirrors
+     */
+    private static Camera twoSpheresOnMirrors() {
+        Scene scene = new Scene("twoSpheresOnMirrors");
+        scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.geometries.add(
+                new Sphere(new Point(-950, -900, -1000), 400d).setEmission(new Color(0, 50, 100))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setNShininess(20)
+                                .setKt(new Double3(0.5, 0, 0))),
+                new Sphere(new Point(-950, -900, -1000), 200d).setEmission(new Color(100, 50, 20))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setNShininess(20)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500), new Point(670, 670, 3000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKr(1)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500),
+                        new Point(-1500, -1500, -2000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKr(new Double3(0.5, 0, 0.4))));
+        scene.lights.add(new SpotLight(new Color(1020, 400, 400), new Point(-750, -750, -150), new Vector(-1, -1, -4))
+                .setKl(0.00001).setKq(0.000005));
+        return new Camera(new Point(0, 0, 10000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(2500, 2500).setVPDistance(10000)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * @return camera of ReflectionRefractionTests.trianglesTransparentSphere
+     */
+    private static Camera trianglesTransparentSphere() {
+        Scene scene = new Scene("trianglesTransparentSphere");
+        scene.setAmbientLight(new AmbientLight(new Color(WHITE), 0.15));
+        scene.geometries.add(
+                new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(60)),
+                new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setNShininess(60)),
+                new Sphere(new Point(60, 50, -50), 30d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKd(0.2).setKs(0.2).setNShininess(30).setKt(0.6)));
+        scene.lights.add(new SpotLight(new Color(700, 400, 400), new Point(60, 50, 0), new Vector(0, 0, -1))
+                .setKl(4E-5).setKq(2E-7));
+        return new Camera(new Point(0, 0, 1000), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(200, 200).setVPDistance(1000)
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+}
@@ -0,0 +1,43 @@
+package renderer;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler (as the -prof gc option of the JMH command line),
+ * so every benchmark reports its allocation rate (gc.alloc.rate and gc.alloc.rate.norm,
+ * the bytes allocated per operation) beside its throughput. The results are also written
+ * to jmh-result.json, to compare runs before and after an optimization.
+ *
+ * @author Avidan and Ziv
+ */
+public final class Benchmarks {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks
+     *
+     * @param args regular expressions of the benchmarks to run (e.g. IntersectionBenchmark),
+     *             all the benchmarks if there are none
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        if (args.length == 0) builder.include(".*Benchmark\\..*");
+        for (String pattern : args) builder.include(pattern);
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
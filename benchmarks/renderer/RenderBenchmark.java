@@ -0,0 +1,67 @@
+package renderer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Macro-benchmarks that render the scenes of the rendering tests at a fixed resolution,
+ * without writing the images (see {@link BenchmarkScenes}). A render is a single operation,
+ * so the throughput is in renders per minute.
+ *
+ * @author Avidan and Ziv
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RenderBenchmark {
+    /**
+     * The rendered scene, by the name of its test
+     */
+    @Param({"ourImage1", "ourImage2", "ourImageFinalPic", "starOfDavid3D",
+            "twoSpheres", "twoSpheresOnMirrors", "trianglesTransparentSphere"})
+    public String scene;
+    /**
+     * The side of the rendered image in pixels
+     */
+    @Param({"200"})
+    public int size;
+    /**
+     * Amount of rendering threads: 0 to render in the benchmark thread, -1 for all the available processors
+     */
+    @Param({"0", "-1"})
+    public int threads;
+
+    /**
+     * The camera of the scene
+     */
+    private Camera camera;
+    /**
+     * The image writer the scene is rendered into
+     */
+    private ImageWriter imageWriter;
+
+    /**
+     * Builds the scene and its camera
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.imageWriter = new ImageWriter(this.scene, this.size, this.size);
+        this.camera = BenchmarkScenes.camera(this.scene).setMultithreading(this.threads)
+                .setImageWriter(this.imageWriter);
+    }
+
+    /**
+     * Renders the scene
+     *
+     * @return the rendered pixels
+     */
+    @Benchmark
+    public FrameBuffer render() {
+        this.camera.renderImage();
+        return this.imageWriter.getFrameBuffer();
+    }
+}
@@ -0,0 +1,427 @@
+package geometries;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+
+/**
+ * Bounding volume hierarchy compiled into flat arrays.<br/>
+ * The hierarchy is built by the surface area heuristic over the bounding boxes of items
+ * (identified by their index), and its nodes are stored in depth-first order: the left child
+ * of an inner node directly follows it, and the node keeps the index of its right child.
+ * The traversal uses an explicit stack instead of recursion, so no objects are visited
+ * (or allocated) per node, and the stack is kept per thread, so no arrays are allocated per ray.
+ *
+ * @author Avidan and Ziv
+ */
+final class BVH {
+    /**
+     * Visitor of the items in the leaves that a ray reaches
+     */
+    interface LeafVisitor {
+        /**
+         * Visits an item in a leaf reached by the ray
+         *
+         * @param item        the index of the item
+         * @param maxDistance the distance the traversal is currently limited to
+         * @return the distance to limit the rest of the traversal to, negative to stop it
+         */
+        double visit(int item, double maxDistance);
+    }
+
+    /**
+     * Scratch stack of the traversals of a thread. Traversals nest (an item of a leaf may be a
+     * geometry with a hierarchy of its own), so a traversal takes a frame of the depth of its
+     * hierarchy above the frames of the traversals it's nested in.
+     */
+    private static final class TraversalStack {
+        /**
+         * the nodes to visit
+         */
+        private int[] nodes = new int[64];
+        /**
+         * the distances the ray enters the nodes to visit at
+         */
+        private double[] entries = new double[64];
+        /**
+         * the end of the frames in use
+         */
+        private int top = 0;
+    }
+
+    /**
+     * The scratch stack of the traversals of every thread
+     */
+    private static final ThreadLocal<TraversalStack> STACKS = ThreadLocal.withInitial(TraversalStack::new);
+
+    /**
+     * Maximum amount of items that are kept together in a leaf
+     */
+    private static final int MAX_LEAF_SIZE = 2;
+    /**
+     * Amount of buckets the box centers are binned into when looking for the best split
+     */
+    private static final int BINS = 16;
+    /**
+     * Cost of testing a ray against a box, relative to intersecting an item (surface area heuristic)
+     */
+    private static final double TRAVERSAL_COST = 0.125;
+
+    /**
+     * Bounds of the nodes, six values per node: minX, minY, minZ, maxX, maxY, maxZ
+     */
+    private double[] bounds;
+    /**
+     * Two values per node: the offset of its first item in {@link #items} and the amount
+     * of its items for a leaf, or the index of its right child and 0 for an inner node
+     */
+    private int[] nodes;
+    /**
+     * Item indices ordered by the leaves that hold them
+     */
+    private final int[] items;
+    /**
+     * Amount of nodes in the hierarchy
+     */
+    private int nodeCount = 0;
+    /**
+     * Depth of the deepest leaf (the root is at depth 1)
+     */
+    private int depth = 0;
+
+    /**
+     * Builds a hierarchy over items
+     *
+     * @param itemBounds bounds of the items, six values per item: minX, minY, minZ, maxX, maxY, maxZ
+     * @param itemCount  the amount of items
+     */
+    BVH(double[] itemBounds, int itemCount) {
+        if (itemCount == 0) throw new IllegalArgumentException("Can't build a hierarchy without items");
+        this.items = new int[itemCount];
+        for (int i = 0; i < itemCount; ++i) this.items[i] = i;
+        double[] centers = new double[3 * itemCount];
+        for (int i = 0; i < itemCount; ++i)
+            for (int axis = 0; axis < 3; ++axis)
+                centers[3 * i + axis] = (itemBounds[6 * i + axis] + itemBounds[6 * i + axis + 3]) / 2;
+
+        this.bounds = new double[6 * (2 * itemCount - 1)];
+        this.nodes = new int[2 * (2 * itemCount - 1)];
+        build(itemBounds, centers, 0, itemCount, 1);
+        this.bounds = Arrays.copyOf(this.bounds, 6 * this.nodeCount);
+        this.nodes = Arrays.copyOf(this.nodes, 2 * this.nodeCount);
+    }
+
+    /**
+     * @return amount of nodes in the hierarchy
+     */
+    int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * @return depth of the deepest leaf (the root is at depth 1)
+     */
+    int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Builds a subtree over a range of {@link #items}, and stores it from the next free node on.
+     * The items are binned by their box centers along every axis, and the node is split
+     * where the surface area heuristic estimates the lowest cost. When no split is cheaper
+     * than intersecting all the items, they are kept together in a leaf.
+     *
+     * @param itemBounds bounds of the items
+     * @param centers    box centers of the items, three values per item
+     * @param start      the first position of the range
+     * @param end        the position after the range
+     * @param level      depth of the subtree root
+     */
+    private void build(double[] itemBounds, double[] centers, int start, int end, int level) {
+        int node = this.nodeCount++;
+        int size = end - start;
+        this.depth = Math.max(this.depth, level);
+
+        double[] nodeBounds = emptyBounds();
+        for (int i = start; i < end; ++i) grow(nodeBounds, 0, itemBounds, 6 * this.items[i]);
+        System.arraycopy(nodeBounds, 0, this.bounds, 6 * node, 6);
+
+        int bestAxis = -1, bestBin = 0;
+        double bestMin = 0, bestScale = 0;
+        if (size > MAX_LEAF_SIZE) {
+            double nodeArea = surfaceArea(nodeBounds, 0);
+            double bestCost = size; // cost of intersecting all the items in a leaf
+            double[] bins = new double[6 * BINS];
+            int[] counts = new int[BINS];
+            double[] rightAreas = new double[BINS];
+            int[] rightCounts = new int[BINS];
+            for (int axis = 0; axis < 3; ++axis) {
+                double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+                for (int i = start; i < end; ++i) {
+                    double center = centers[3 * this.items[i] + axis];
+                    min = Math.min(min, center);
+                    max = Math.max(max, center);
+                }
+                if (max <= min) continue;
+
+                double scale = BINS / (max - min);
+                Arrays.fill(counts, 0);
+                for (int b = 0; b < BINS; ++b) System.arraycopy(emptyBounds(), 0, bins, 6 * b, 6);
+                for (int i = start; i < end; ++i) {
+                    int item = this.items[i];
+                    int b = bin(centers[3 * item + axis], min, scale);
+                    ++counts[b];
+                    grow(bins, 6 * b, itemBounds, 6 * item);
+                }
+
+                // areas and counts of all the bins to the right of every split position
+                double[] side = emptyBounds();
+                int count = 0;
+                for (int b = BINS - 1; b > 0; --b) {
+                    grow(side, 0, bins, 6 * b);
+                    count += counts[b];
+                    rightAreas[b] = surfaceArea(side, 0);
+                    rightCounts[b] = count;
+                }
+
+                side = emptyBounds();
+                count = 0;
+                for (int b = 1; b < BINS; ++b) {
+                    grow(side, 0, bins, 6 * (b - 1));
+                    count += counts[b - 1];
+                    if (count == 0 || rightCounts[b] == 0) continue;
+                    double cost = TRAVERSAL_COST + (surfaceArea(side, 0) * count + rightAreas[b] * rightCounts[b]) / nodeArea;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestAxis = axis;
+                        bestMin = min;
+                        bestScale = scale;
+                        bestBin = b;
+                    }
+                }
+            }
+        }
+
+        if (bestAxis < 0) {
+            this.nodes[2 * node] = start;
+            this.nodes[2 * node + 1] = size;
+            return;
+        }
+
+        // partition the range in place by the chosen split
+        int middle = start;
+        for (int i = start; i < end; ++i) {
+            int item = this.items[i];
+            if (bin(centers[3 * item + bestAxis], bestMin, bestScale) < bestBin) {
+                this.items[i] = this.items[middle];
+                this.items[middle++] = item;
+            }
+        }
+        build(itemBounds, centers, start, middle, level + 1);
+        this.nodes[2 * node] = this.nodeCount;
+        this.nodes[2 * node + 1] = 0;
+        build(itemBounds, centers, middle, end, level + 1);
+    }
+
+    /**
+     * Calculates the bin of a box center
+     *
+     * @param center the coordinate of the center along the binned axis
+     * @param min    the smallest center coordinate
+     * @param scale  amount of bins per unit along the axis
+     * @return the index of the bin
+     */
+    private static int bin(double center, double min, double scale) {
+        return Math.min(BINS - 1, (int) ((center - min) * scale));
+    }
+
+    /**
+     * @return bounds (minX, minY, minZ, maxX, maxY, maxZ) that enclose nothing
+     */
+    private static double[] emptyBounds() {
+        return new double[]{Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    }
+
+    /**
+     * Extends bounds to enclose other bounds
+     *
+     * @param bounds      array of the bounds to extend
+     * @param offset      offset of the bounds to extend
+     * @param other       array of the bounds to enclose
+     * @param otherOffset offset of the bounds to enclose
+     */
+    private static void grow(double[] bounds, int offset, double[] other, int otherOffset) {
+        for (int i = 0; i < 3; ++i) {
+            bounds[offset + i] = Math.min(bounds[offset + i], other[otherOffset + i]);
+            bounds[offset + i + 3] = Math.max(bounds[offset + i + 3], other[otherOffset + i + 3]);
+        }
+    }
+
+    /**
+     * Calculates the surface area of bounds
+     *
+     * @param bounds array of the bounds
+     * @param offset offset of the bounds
+     * @return the surface area, 0 for empty bounds
+     */
+    private static double surfaceArea(double[] bounds, int offset) {
+        double dx = bounds[offset + 3] - bounds[offset];
+        double dy = bounds[offset + 4] - bounds[offset + 1];
+        double dz = bounds[offset + 5] - bounds[offset + 2];
+        return dx < 0 ? 0 : 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Visits the items of all the leaves the ray reaches within a distance.
+     * Inner nodes are descended nearest child first, and nodes that are entered beyond the
+     * current limit (as shrunk by the visitor) are skipped.
+     *
+     * @param ray         the ray
+     * @param maxDistance the distance to limit the traversal to
+     * @param visitor     the visitor of the items
+     * @return the limit after the traversal, negative if the visitor stopped it
+     */
+    double traverse(Ray ray, double maxDistance, LeafVisitor visitor) {
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        double ox = p0.getX(), oy = p0.getY(), oz = p0.getZ();
+        double ix = 1 / dir.getX(), iy = 1 / dir.getY(), iz = 1 / dir.getZ();
+
+        if (entry(0, ox, oy, oz, ix, iy, iz, maxDistance) < 0) return maxDistance;
+        TraversalStack scratch = STACKS.get();
+        int base = scratch.top;
+        if (base + this.depth > scratch.nodes.length) {
+            // the outer traversals keep the arrays they took, so their frames aren't copied
+            int length = Math.max(2 * scratch.nodes.length, base + this.depth);
+            scratch.nodes = new int[length];
+            scratch.entries = new double[length];
+        }
+        int[] stack = scratch.nodes;
+        double[] entries = scratch.entries;
+        scratch.top = base + this.depth;
+        try {
+            return traverse(ox, oy, oz, ix, iy, iz, maxDistance, visitor, stack, entries, base);
+        } finally {
+            scratch.top = base;
+        }
+    }
+
+    /**
+     * Visits the items of all the leaves the ray reaches within a distance, on a frame of the
+     * scratch stack
+     *
+     * @param ox          x of the ray head
+     * @param oy          y of the ray head
+     * @param oz          z of the ray head
+     * @param ix          inverse of the x of the ray direction
+     * @param iy          inverse of the y of the ray direction
+     * @param iz          inverse of the z of the ray direction
+     * @param maxDistance the distance to limit the traversal to
+     * @param visitor     the visitor of the items
+     * @param stack       the nodes to visit
+     * @param entries     the distances the ray enters the nodes to visit at
+     * @param base        the start of the frame
+     * @return the limit after the traversal, negative if the visitor stopped it
+     */
+    private double traverse(double ox, double oy, double oz, double ix, double iy, double iz, double maxDistance,
+                            LeafVisitor visitor, int[] stack, double[] entries, int base) {
+        int top = base;
+        int node = 0;
+        while (true) {
+            IntersectionCounters.countNode();
+            int count = this.nodes[2 * node + 1];
+            if (count > 0) {
+                for (int i = this.nodes[2 * node], end = i + count; i < end; ++i) {
+                    maxDistance = visitor.visit(this.items[i], maxDistance);
+                    if (maxDistance < 0) return maxDistance;
+                }
+            } else {
+                int left = node + 1, right = this.nodes[2 * node];
+                double tLeft = entry(left, ox, oy, oz, ix, iy, iz, maxDistance);
+                double tRight = entry(right, ox, oy, oz, ix, iy, iz, maxDistance);
+                if (tLeft >= 0 && tRight >= 0) {
+                    if (tLeft <= tRight) {
+                        stack[top] = right;
+                        entries[top++] = tRight;
+                        node = left;
+                    } else {
+                        stack[top] = left;
+                        entries[top++] = tLeft;
+                        node = right;
+                    }
+                    continue;
+                }
+                if (tLeft >= 0) {
+                    node = left;
+                    continue;
+                }
+                if (tRight >= 0) {
+                    node = right;
+                    continue;
+                }
+            }
+            // pop the next node that is still entered within the limit
+            do {
+                if (top == base) return maxDistance;
+                node = stack[--top];
+            } while (entries[top] > maxDistance);
+        }
+    }
+
+    /**
+     * Calculates the distance at which a ray enters the box of a node (slab test)
+     *
+     * @param node        the node
+     * @param ox          x of the ray head
+     * @param oy          y of the ray head
+     * @param oz          z of the ray head
+     * @param ix          inverse of the x of the ray direction
+     * @param iy          inverse of the y of the ray direction
+     * @param iz          inverse of the z of the ray direction
+     * @param maxDistance the distance to limit the test to
+     * @return the entry distance (0 if the ray head is inside the box), or a negative value if the ray
+     * misses the box within the limit
+     */
+    private double entry(int node, double ox, double oy, double oz, double ix, double iy, double iz, double maxDistance) {
+        IntersectionCounters.countBox();
+        int b = 6 * node;
+        double tMin = 0, tMax = maxDistance;
+        // a product is NaN only for a ray that runs along a slab plane, which doesn't limit it
+        double t1 = (this.bounds[b] - ox) * ix, t2 = (this.bounds[b + 3] - ox) * ix;
+        if (t1 == t1 && t2 == t2) {
+            if (t1 > t2) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            if (t1 > tMin) tMin = t1;
+            if (t2 < tMax) tMax = t2;
+        }
+        t1 = (this.bounds[b + 1] - oy) * iy;
+        t2 = (this.bounds[b + 4] - oy) * iy;
+        if (t1 == t1 && t2 == t2) {
+            if (t1 > t2) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            if (t1 > tMin) tMin = t1;
+            if (t2 < tMax) tMax = t2;
+        }
+        t1 = (this.bounds[b + 2] - oz) * iz;
+        t2 = (this.bounds[b + 5] - oz) * iz;
+        if (t1 == t1 && t2 == t2) {
+            if (t1 > t2) {
+                double temp = t1;
+                t1 = t2;
+                t2 = temp;
+            }
+            if (t1 > tMin) tMin = t1;
+            if (t2 < tMax) tMax = t2;
+        }
+        return tMin <= tMax ? tMin : -1;
+    }
+}
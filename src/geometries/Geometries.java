@@ -5,10 +5,8 @@ import primitives.Point;
 import primitives.Ray;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.function.Function;
 
 /**
  * This class represents a list of geometries
@@ -16,18 +14,26 @@ import java.util.function.Function;
  */
 public class Geometries extends Intersectable {
     private final List<Intersectable> intersectables = new LinkedList<>();
-    static List<Function<Intersectable, Double>> axes = new ArrayList<>(Arrays.asList((x) -> x.bbox.center.getX(), (x) -> x.bbox.center.getY(), (x) -> x.bbox.center.getZ()));
+    /**
+     * Bounded geometries organized by {@link #buildBVH()}, indexed by the hierarchy items
+     */
+    private Intersectable[] bvhGeometries = null;
+    /**
+     * Hierarchy over the bounded geometries, null until it is built
+     */
+    private BVH bvh = null;
 
     public Geometries() {
         bbox = new AABB(new Point(new Double3(Double.POSITIVE_INFINITY)), new Point(new Double3(Double.NEGATIVE_INFINITY)));
     }
 
     public Geometries(Intersectable... geometries) {
-        this.intersectables.addAll(List.of(geometries));
+        this();
+        add(geometries);
     }
 
     public void add(Intersectable... geometries) {
-        this.intersectables.addAll(List.of(geometries));
+        add(List.of(geometries));
     }
 
     public Geometries add(List<Intersectable> geometries) {
@@ -36,6 +42,12 @@ public class Geometries extends Intersectable {
         boolean inf = this.bbox.isInfinite();
         for (Intersectable geometry : geometries) {
             this.intersectables.add(geometry);
+            if (geometry.bbox == null) {
+                inf = true;
+                minBbox = new Point(Double3.NEGATIVE_INFINITY);
+                maxBbox = new Point(Double3.POSITIVE_INFINITY);
+                continue;
+            }
             if (geometry.bbox.isInfinite()) {
                 inf = true;
             }
@@ -46,12 +58,68 @@ public class Geometries extends Intersectable {
         return this;
     }
 
+    /**
+     * Organizes the bounded geometries into a bounding volume hierarchy, built by the
+     * surface area heuristic over their bounding boxes and compiled into flat arrays.
+     * Unbounded geometries (e.g. planes) stay in the list and are tested for every ray.
+     *
+     * @return this geometries object
+     */
+    public Geometries buildBVH() {
+        SceneCompileEvent event = new SceneCompileEvent();
+        event.begin();
+        List<Intersectable> bounded = new ArrayList<>();
+        List<Intersectable> unbounded = new LinkedList<>();
+        for (Intersectable geometry : this.intersectables)
+            (isBounded(geometry) ? bounded : unbounded).add(geometry);
+        if (this.bvhGeometries != null) bounded.addAll(List.of(this.bvhGeometries));
+        if (bounded.size() <= 1) return this;
+
+        double[] bounds = new double[6 * bounded.size()];
+        for (int i = 0; i < bounded.size(); ++i) {
+            AABB box = bounded.get(i).bbox;
+            bounds[6 * i] = box.min.getX();
+            bounds[6 * i + 1] = box.min.getY();
+            bounds[6 * i + 2] = box.min.getZ();
+            bounds[6 * i + 3] = box.max.getX();
+            bounds[6 * i + 4] = box.max.getY();
+            bounds[6 * i + 5] = box.max.getZ();
+        }
+        this.bvh = new BVH(bounds, bounded.size());
+        this.bvhGeometries = bounded.toArray(new Intersectable[0]);
+        this.intersectables.clear();
+        this.intersectables.addAll(unbounded);
+        event.end();
+        if (event.shouldCommit()) {
+            event.boundedGeometries = this.bvhGeometries.length;
+            event.unboundedGeometries = unbounded.size();
+            event.nodes = this.bvh.getNodeCount();
+            event.depth = this.bvh.getDepth();
+            event.commit();
+        }
+        return this;
+    }
+
+    /**
+     * Checks whether the geometry has a finite bounding box
+     *
+     * @param geometry the geometry to check
+     * @return true if the geometry can be placed in the hierarchy
+     */
+    private static boolean isBounded(Intersectable geometry) {
+        AABB box = geometry.bbox;
+        return box != null && !box.isInfinite()
+                && Double.isFinite(box.min.getX()) && Double.isFinite(box.min.getY()) && Double.isFinite(box.min.getZ())
+                && Double.isFinite(box.max.getX()) && Double.isFinite(box.max.getY()) && Double.isFinite(box.max.getZ());
+    }
+
     @Override
     protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
         List<GeoPoint> intersections = null;
         if (!this.bbox.intersect(ray, maxDistance))
             return null;
         for (Intersectable geometry : this.intersectables) {
+            IntersectionCounters.countTest(geometry.getClass());
             List<GeoPoint> geoIntersections = geometry.findGeoIntersections(ray, maxDistance);
             if (geoIntersections != null) {
                 if (intersections == null)
@@ -60,6 +128,52 @@ public class Geometries extends Intersectable {
                     intersections.addAll(geoIntersections);
             }
         }
-        return intersections;
+        if (this.bvh == null) return intersections;
+
+        List<GeoPoint> bvhIntersections = intersections == null ? new LinkedList<>() : intersections;
+        this.bvh.traverse(ray, maxDistance, (item, distance) -> {
+            IntersectionCounters.countTest(this.bvhGeometries[item].getClass());
+            List<GeoPoint> geoIntersections = this.bvhGeometries[item].findGeoIntersections(ray, distance);
+            if (geoIntersections != null) bvhIntersections.addAll(geoIntersections);
+            return distance;
+        });
+        return bvhIntersections.isEmpty() ? null : bvhIntersections;
+    }
+
+    @Override
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        if (!this.bbox.intersect(ray, hit.distance))
+            return false;
+        double maxDistance = hit.distance;
+        for (Intersectable geometry : this.intersectables) {
+            IntersectionCounters.countTest(geometry.getClass());
+            geometry.findClosestGeoIntersectionHelper(ray, hit);
+        }
+        if (this.bvh != null)
+            this.bvh.traverse(ray, hit.distance, (item, distance) -> {
+                IntersectionCounters.countTest(this.bvhGeometries[item].getClass());
+                return this.bvhGeometries[item].findClosestGeoIntersectionHelper(ray, hit) ? hit.distance : distance;
+            });
+        return hit.distance < maxDistance;
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        if (!this.bbox.intersect(ray, maxDistance))
+            return k;
+        for (Intersectable geometry : this.intersectables) {
+            IntersectionCounters.countTest(geometry.getClass());
+            k = geometry.findTransparencyHelper(ray, maxDistance, k, minK);
+            if (k.lowerThan(minK)) return Double3.ZERO;
+        }
+        if (this.bvh == null) return k;
+
+        Double3[] transparency = {k};
+        double limit = this.bvh.traverse(ray, maxDistance, (item, distance) -> {
+            IntersectionCounters.countTest(this.bvhGeometries[item].getClass());
+            transparency[0] = this.bvhGeometries[item].findTransparencyHelper(ray, distance, transparency[0], minK);
+            return transparency[0].lowerThan(minK) ? -1 : distance;
+        });
+        return limit < 0 ? Double3.ZERO : transparency[0];
     }
 }
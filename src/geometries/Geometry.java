@@ -50,7 +50,24 @@ public abstract class Geometry extends Intersectable {
     /**
      * The material of the geometry.
      */
-    private Material material = new Material();
+    private Material material;
+
+    /**
+     * Constructs a geometry of a default material.
+     */
+    protected Geometry() {
+        this(new Material());
+    }
+
+    /**
+     * Constructs a geometry of a given material.
+     *
+     * @param material The material of the geometry, null for a view of another geometry
+     *                 that supplies the material of the geometry it views.
+     */
+    protected Geometry(Material material) {
+        this.material = material;
+    }
 
     //**************setters**************//
 
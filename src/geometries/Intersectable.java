@@ -1,11 +1,14 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+
 /**
  * Intersectable interface represents a geometry in 3D Cartesian coordinate system
  */
@@ -47,6 +50,44 @@ public abstract class Intersectable {
         }
     }
 
+    /**
+     * ClosestHit class records the closest intersection found so far by a closest-hit query.
+     * Its distance is the limit for the rest of the query, so farther geometries are culled early.
+     */
+    protected static class ClosestHit {
+        /**
+         * the intersected geometry, null while no intersection was found
+         */
+        Geometry geometry = null;
+        /**
+         * distance of the intersection from the ray head
+         */
+        double distance;
+
+        /**
+         * constructor
+         *
+         * @param maxDistance the distance to limit the query to
+         */
+        ClosestHit(double maxDistance) {
+            this.distance = maxDistance;
+        }
+
+        /**
+         * Records an intersection if it is closer than the closest one so far
+         *
+         * @param geometry the intersected geometry
+         * @param distance distance of the intersection from the ray head
+         * @return true if the intersection was recorded
+         */
+        boolean update(Geometry geometry, double distance) {
+            if (distance >= this.distance) return false;
+            this.geometry = geometry;
+            this.distance = distance;
+            return true;
+        }
+    }
+
     /**
      * The AABB class represents an Axis-Aligned Bounding Box.
      * It is used to enclose objects and determine intersection in computer graphics and collision detection algorithms.
@@ -118,6 +159,7 @@ public abstract class Intersectable {
          * @return true if the AABB intersects with the Ray, false otherwise.
          */
         public boolean intersect(Ray ray, double maxDis) {
+            IntersectionCounters.countBox();
             Point rayP0 = ray.getP0();
             Vector rayDir = ray.getDir();
 
@@ -251,5 +293,83 @@ public abstract class Intersectable {
     public final List<GeoPoint> findGeoIntersections(Ray ray) {
         return findGeoIntersectionsHelper(ray, Double.POSITIVE_INFINITY);
     }
-}
 
+    /**
+     * find the closest intersection of the geometry with the specified ray, if it is
+     * closer than the closest intersection recorded in the hit so far, and record it.<br/>
+     * The default implementation scans all the intersections within the hit distance.
+     *
+     * @param ray to intersect with
+     * @param hit the closest intersection so far
+     * @return true if a closer intersection was recorded
+     */
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, hit.distance);
+        if (intersections == null) return false;
+        Point p0 = ray.getP0();
+        boolean found = false;
+        for (GeoPoint gp : intersections)
+            found |= hit.update(gp.geometry, gp.point.distance(p0));
+        return found;
+    }
+
+    /**
+     * find the closest intersection of the geometry with the specified ray, limited with max distance
+     *
+     * @param ray         to intersect with
+     * @param maxDistance to limit the intersection point
+     * @return the closest intersection point, null if there is none
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        ClosestHit hit = new ClosestHit(maxDistance);
+        return findClosestGeoIntersectionHelper(ray, hit) ? new GeoPoint(hit.geometry, ray.getPoint(hit.distance)) : null;
+    }
+
+    /**
+     * find the closest intersection of the geometry with the specified ray
+     *
+     * @param ray to intersect with
+     * @return the closest intersection point, null if there is none
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * calculate the transparency of the geometry along the specified ray, by multiplying
+     * the transparency coefficient of every intersection closer than the max distance.<br/>
+     * The default implementation scans all the intersections within the max distance.
+     *
+     * @param ray         to intersect with
+     * @param maxDistance to limit the intersection points
+     * @param k           the transparency accumulated so far
+     * @param minK        the transparency below which the ray is considered blocked
+     * @return the accumulated transparency, Double3.ZERO if the ray is blocked
+     */
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null) return k;
+        Point p0 = ray.getP0();
+        for (GeoPoint gp : intersections) {
+            if (alignZero(maxDistance - gp.point.distance(p0)) > 0) {
+                k = k.product(gp.geometry.getMaterial().kT);
+                if (k.lowerThan(minK)) return Double3.ZERO;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * calculate the transparency along the specified ray up to a max distance (e.g. of a light source).
+     * The query stops at the first blocking intersection, or as soon as the transparency
+     * of the intersections so far drops below the given threshold.
+     *
+     * @param ray         to intersect with
+     * @param maxDistance to limit the intersection points
+     * @param minK        the transparency below which the ray is considered blocked
+     * @return the transparency along the ray, Double3.ZERO if the ray is blocked
+     */
+    public final Double3 findTransparency(Ray ray, double maxDistance, Double3 minK) {
+        return findTransparencyHelper(ray, maxDistance, Double3.ONE, minK);
+    }
+}
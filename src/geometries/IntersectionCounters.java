@@ -0,0 +1,190 @@
+package geometries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IntersectionCounters counts the work of the intersection queries of a thread: the ray-box
+ * tests (of the bounding boxes and of the hierarchy nodes), the hierarchy nodes that were
+ * visited, and the intersection tests of every geometry class (the faces of a mesh are counted
+ * as triangle tests).<br/>
+ * Counting is done by a thread only between {@link #start()} and {@link #stop()}, into counters
+ * of the thread, so the counting threads never share counters. While no thread counts, every
+ * counting site costs a single read of a shared flag.
+ *
+ * @author Avidan and Ziv
+ */
+public final class IntersectionCounters {
+    /**
+     * The counters of the current thread, absent if the thread doesn't count
+     */
+    private static final ThreadLocal<IntersectionCounters> LOCAL = new ThreadLocal<>();
+    /**
+     * Amount of threads that count
+     */
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+    /**
+     * The geometry classes by their slots in the counters
+     */
+    private static final List<Class<?>> CLASSES = new ArrayList<>();
+    /**
+     * The slots of the geometry classes in the counters
+     */
+    private static final ClassValue<Integer> SLOTS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            synchronized (CLASSES) {
+                CLASSES.add(type);
+                return CLASSES.size() - 1;
+            }
+        }
+    };
+
+    /**
+     * Amount of ray-box tests
+     */
+    private long boxTests = 0;
+    /**
+     * Amount of visited hierarchy nodes
+     */
+    private long nodeVisits = 0;
+    /**
+     * Amount of intersection tests by the slot of the geometry class
+     */
+    private long[] tests = new long[8];
+
+    /**
+     * Constructs zero counters (e.g. to sum the counters of several threads)
+     */
+    public IntersectionCounters() {
+    }
+
+    /**
+     * Starts counting in the current thread, with zero counters
+     *
+     * @return the counters of the thread
+     */
+    public static IntersectionCounters start() {
+        IntersectionCounters counters = new IntersectionCounters();
+        if (LOCAL.get() == null) ACTIVE.incrementAndGet();
+        LOCAL.set(counters);
+        return counters;
+    }
+
+    /**
+     * Stops counting in the current thread
+     *
+     * @return the counters of the thread, null if the thread didn't count
+     */
+    public static IntersectionCounters stop() {
+        IntersectionCounters counters = LOCAL.get();
+        if (counters != null) {
+            LOCAL.remove();
+            ACTIVE.decrementAndGet();
+        }
+        return counters;
+    }
+
+    /**
+     * Counts a ray-box test
+     */
+    static void countBox() {
+        if (ACTIVE.get() == 0) return;
+        IntersectionCounters counters = LOCAL.get();
+        if (counters != null) ++counters.boxTests;
+    }
+
+    /**
+     * Counts a visit of a hierarchy node
+     */
+    static void countNode() {
+        if (ACTIVE.get() == 0) return;
+        IntersectionCounters counters = LOCAL.get();
+        if (counters != null) ++counters.nodeVisits;
+    }
+
+    /**
+     * Counts an intersection test of a geometry
+     *
+     * @param type the class of the geometry
+     */
+    static void countTest(Class<?> type) {
+        if (ACTIVE.get() == 0) return;
+        IntersectionCounters counters = LOCAL.get();
+        if (counters != null) counters.addTests(SLOTS.get(type), 1);
+    }
+
+    /**
+     * Adds intersection tests to a slot, growing the counters if needed
+     *
+     * @param slot  the slot of the geometry class
+     * @param count amount of tests
+     */
+    private void addTests(int slot, long count) {
+        if (slot >= this.tests.length)
+            this.tests = Arrays.copyOf(this.tests, Math.max(slot + 1, 2 * this.tests.length));
+        this.tests[slot] += count;
+    }
+
+    /**
+     * Adds other counters to these counters
+     *
+     * @param other the other counters
+     */
+    public void add(IntersectionCounters other) {
+        this.boxTests += other.boxTests;
+        this.nodeVisits += other.nodeVisits;
+        for (int slot = other.tests.length - 1; slot >= 0; --slot)
+            if (other.tests[slot] != 0) addTests(slot, other.tests[slot]);
+    }
+
+    /**
+     * @return amount of ray-box tests
+     */
+    public long getBoxTests() {
+        return this.boxTests;
+    }
+
+    /**
+     * @return amount of visited hierarchy nodes
+     */
+    public long getNodeVisits() {
+        return this.nodeVisits;
+    }
+
+    /**
+     * Getter for the intersection tests of a geometry class
+     *
+     * @param type the geometry class
+     * @return amount of intersection tests of the class
+     */
+    public long getTests(Class<?> type) {
+        int slot = SLOTS.get(type);
+        return slot < this.tests.length ? this.tests[slot] : 0;
+    }
+
+    /**
+     * @return amount of intersection tests of all the geometry classes
+     */
+    public long getTotalTests() {
+        long total = 0;
+        for (long count : this.tests) total += count;
+        return total;
+    }
+
+    /**
+     * @return amount of intersection tests by the geometry classes that were tested
+     */
+    public Map<Class<?>, Long> getTests() {
+        Map<Class<?>, Long> tests = new LinkedHashMap<>();
+        synchronized (CLASSES) {
+            for (int slot = 0; slot < this.tests.length; ++slot)
+                if (this.tests[slot] != 0) tests.put(CLASSES.get(slot), this.tests[slot]);
+        }
+        return tests;
+    }
+}
@@ -0,0 +1,294 @@
+package geometries;
+
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+
+/**
+ * Mesh class represents a triangle mesh in 3D Cartesian coordinate system.<br/>
+ * The vertex positions are shared in a single buffer and the faces refer to them by index,
+ * so a face takes three ints instead of a triangle object with its own points, plane and box.
+ * The faces are organized in an internal bounding volume hierarchy and are intersected by
+ * the Moller-Trumbore algorithm directly on the buffers.
+ * An intersection is reported on a light-weight view of the intersected face, which shares
+ * the material and the emission of the mesh and supplies the normal of the face.
+ *
+ * @author Avidan and Ziv
+ */
+public class Mesh extends Geometry {
+    /**
+     * Vertex positions, three values per vertex: x, y, z
+     */
+    private final double[] vertices;
+    /**
+     * Faces, three vertex indices per face (counterclockwise by the normal)
+     */
+    private final int[] faces;
+    /**
+     * Hierarchy over the faces
+     */
+    private final BVH bvh;
+
+    /**
+     * Face class is the view of a single face of the mesh, created for an intersection with it.
+     * It holds only the mesh and the index of the face: the material and the emission are
+     * those of the mesh, so the view has no material of its own.
+     */
+    private static final class Face extends Geometry {
+        /**
+         * the mesh of the face
+         */
+        private final Mesh mesh;
+        /**
+         * the index of the face in the mesh
+         */
+        private final int face;
+
+        /**
+         * constructor
+         *
+         * @param mesh the mesh of the face
+         * @param face the index of the face in the mesh
+         */
+        private Face(Mesh mesh, int face) {
+            super(null);
+            this.mesh = mesh;
+            this.face = face;
+        }
+
+        @Override
+        public Color getEmission() {
+            return this.mesh.getEmission();
+        }
+
+        @Override
+        public Material getMaterial() {
+            return this.mesh.getMaterial();
+        }
+
+        @Override
+        public Vector getNormal(Point point) {
+            return this.mesh.getNormal(this.face);
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+            double t = this.mesh.intersect(ray, this.face, maxDistance);
+            return t < 0 ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            return obj instanceof Face other && this.face == other.face && this.mesh == other.mesh;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.mesh) + this.face;
+        }
+    }
+
+    /**
+     * Constructs a mesh over vertex and face buffers. The buffers are used as they are (not copied).
+     *
+     * @param vertices vertex positions, three values per vertex: x, y, z
+     * @param faces    faces, three vertex indices per face
+     * @throws IllegalArgumentException if the buffers are empty or not made of triples,
+     *                                  or if a face refers to a missing vertex
+     */
+    public Mesh(double[] vertices, int[] faces) {
+        if (vertices.length == 0 || vertices.length % 3 != 0)
+            throw new IllegalArgumentException("Vertices must be given as x, y, z triples");
+        if (faces.length == 0 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("Faces must be given as triples of vertex indices");
+        int vertexCount = vertices.length / 3;
+        for (int index : faces)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("Face refers to a missing vertex " + index);
+        this.vertices = vertices;
+        this.faces = faces;
+
+        int faceCount = faces.length / 3;
+        double[] bounds = new double[6 * faceCount];
+        for (int f = 0; f < faceCount; ++f)
+            for (int axis = 0; axis < 3; ++axis) {
+                double a = vertices[3 * faces[3 * f] + axis];
+                double b = vertices[3 * faces[3 * f + 1] + axis];
+                double c = vertices[3 * faces[3 * f + 2] + axis];
+                bounds[6 * f + axis] = Math.min(a, Math.min(b, c));
+                bounds[6 * f + axis + 3] = Math.max(a, Math.max(b, c));
+            }
+        this.bvh = new BVH(bounds, faceCount);
+
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int f = 0; f < faceCount; ++f)
+            for (int axis = 0; axis < 3; ++axis) {
+                min[axis] = Math.min(min[axis], bounds[6 * f + axis]);
+                max[axis] = Math.max(max[axis], bounds[6 * f + axis + 3]);
+            }
+        this.bbox = new AABB(new Point(min[0], min[1], min[2]), new Point(max[0], max[1], max[2]));
+    }
+
+    /**
+     * @return the amount of vertices of the mesh
+     */
+    public int getVertexCount() {
+        return this.vertices.length / 3;
+    }
+
+    /**
+     * @return the amount of faces of the mesh
+     */
+    public int getFaceCount() {
+        return this.faces.length / 3;
+    }
+
+    /**
+     * Calculates the normal of a face
+     *
+     * @param face the index of the face
+     * @return the normal of the face
+     */
+    public Vector getNormal(int face) {
+        int a = 3 * this.faces[3 * face], b = 3 * this.faces[3 * face + 1], c = 3 * this.faces[3 * face + 2];
+        double[] v = this.vertices;
+        double e1x = v[b] - v[a], e1y = v[b + 1] - v[a + 1], e1z = v[b + 2] - v[a + 2];
+        double e2x = v[c] - v[a], e2y = v[c + 1] - v[a + 1], e2z = v[c + 2] - v[a + 2];
+        return new Vector(e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x).normalize();
+    }
+
+    /**
+     * Finds the face of the point, the closest face to it, and calculates its normal.
+     * The faces are searched one by one, so an intersection should rather use its
+     * geometry (the face) or {@link #getNormal(int)}.
+     *
+     * @param point the point on the mesh
+     * @return the normal of the face of the point
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        int closest = 0;
+        double min = Double.POSITIVE_INFINITY;
+        for (int face = 0; face < this.faces.length / 3; ++face) {
+            double distance = distanceSquared(point, face);
+            if (distance < min) {
+                min = distance;
+                closest = face;
+            }
+        }
+        return getNormal(closest);
+    }
+
+    /**
+     * Calculates the squared distance of a point from a face: from its plane if the point is
+     * above the face, otherwise from the closest edge
+     *
+     * @param point the point
+     * @param face  the index of the face
+     * @return the squared distance
+     */
+    private double distanceSquared(Point point, int face) {
+        int a = 3 * this.faces[3 * face], b = 3 * this.faces[3 * face + 1], c = 3 * this.faces[3 * face + 2];
+        double[] v = this.vertices;
+        double e1x = v[b] - v[a], e1y = v[b + 1] - v[a + 1], e1z = v[b + 2] - v[a + 2];
+        double e2x = v[c] - v[a], e2y = v[c + 1] - v[a + 1], e2z = v[c + 2] - v[a + 2];
+        double wx = point.getX() - v[a], wy = point.getY() - v[a + 1], wz = point.getZ() - v[a + 2];
+        double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+        double nn = nx * nx + ny * ny + nz * nz;
+        // the point is w = s * e1 + t * e2 + k * n
+        double s = ((wy * e2z - wz * e2y) * nx + (wz * e2x - wx * e2z) * ny + (wx * e2y - wy * e2x) * nz) / nn;
+        double t = ((e1y * wz - e1z * wy) * nx + (e1z * wx - e1x * wz) * ny + (e1x * wy - e1y * wx) * nz) / nn;
+        if (s >= 0 && t >= 0 && s + t <= 1) {
+            double k = wx * nx + wy * ny + wz * nz;
+            return k * k / nn;
+        }
+        return Math.min(distanceSquared(point, a, b), Math.min(distanceSquared(point, a, c),
+                distanceSquared(point, b, c)));
+    }
+
+    /**
+     * Calculates the squared distance of a point from an edge
+     *
+     * @param point the point
+     * @param a     the offset of the first vertex of the edge
+     * @param b     the offset of the second vertex of the edge
+     * @return the squared distance
+     */
+    private double distanceSquared(Point point, int a, int b) {
+        double[] v = this.vertices;
+        double dx = v[b] - v[a], dy = v[b + 1] - v[a + 1], dz = v[b + 2] - v[a + 2];
+        double wx = point.getX() - v[a], wy = point.getY() - v[a + 1], wz = point.getZ() - v[a + 2];
+        double h = Math.max(0, Math.min(1, (wx * dx + wy * dy + wz * dz) / (dx * dx + dy * dy + dz * dz)));
+        wx -= h * dx;
+        wy -= h * dy;
+        wz -= h * dz;
+        return wx * wx + wy * wy + wz * wz;
+    }
+
+    /**
+     * Intersects a ray with a face
+     *
+     * @param ray         the ray
+     * @param face        the index of the face
+     * @param maxDistance to limit the intersection point
+     * @return the distance of the intersection from the ray head, or -1 if there is none
+     */
+    private double intersect(Ray ray, int face, double maxDistance) {
+        IntersectionCounters.countTest(Triangle.class);
+        int a = 3 * this.faces[3 * face], b = 3 * this.faces[3 * face + 1], c = 3 * this.faces[3 * face + 2];
+        double[] v = this.vertices;
+        return Triangle.intersect(ray, v[a], v[a + 1], v[a + 2],
+                v[b] - v[a], v[b + 1] - v[a + 1], v[b + 2] - v[a + 2],
+                v[c] - v[a], v[c + 1] - v[a + 1], v[c + 2] - v[a + 2],
+                maxDistance, null);
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        if (!this.bbox.intersect(ray, maxDistance)) return null;
+        List<GeoPoint> intersections = new LinkedList<>();
+        this.bvh.traverse(ray, maxDistance, (face, distance) -> {
+            double t = intersect(ray, face, distance);
+            if (t > 0) intersections.add(new GeoPoint(new Face(this, face), ray.getPoint(t)));
+            return distance;
+        });
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    @Override
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        if (!this.bbox.intersect(ray, hit.distance)) return false;
+        int[] closest = {-1};
+        double distance = this.bvh.traverse(ray, hit.distance, (face, limit) -> {
+            double t = intersect(ray, face, limit);
+            if (t <= 0 || t >= limit) return limit;
+            closest[0] = face;
+            return t;
+        });
+        return closest[0] >= 0 && hit.update(new Face(this, closest[0]), distance);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        if (!this.bbox.intersect(ray, maxDistance)) return k;
+        Double3 kT = getMaterial().kT;
+        Double3[] transparency = {k};
+        double limit = this.bvh.traverse(ray, maxDistance, (face, distance) -> {
+            double t = intersect(ray, face, distance);
+            if (t < 0 || alignZero(distance - t) <= 0) return distance;
+            transparency[0] = transparency[0].product(kT);
+            return transparency[0].lowerThan(minK) ? -1 : distance;
+        });
+        return limit < 0 ? Double3.ZERO : transparency[0];
+    }
+}
@@ -0,0 +1,689 @@
+package geometries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * MeshLoader class imports meshes from Wavefront OBJ files and from binary PLY files.<br/>
+ * The files are memory mapped and parsed straight into the vertex and face buffers of the
+ * {@link Mesh}, without intermediate points or strings. OBJ files are split into chunks at
+ * line boundaries and the chunks are parsed in parallel; the vertices of binary PLY files
+ * have a fixed size, so they are decoded in parallel ranges.
+ * Polygons with more than three vertices are triangulated as fans.
+ *
+ * @author Avidan and Ziv
+ */
+public final class MeshLoader {
+    /**
+     * Smallest amount of bytes of an OBJ chunk that is parsed by a single task
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 22;
+    /**
+     * Amount of PLY vertices that are decoded by a single task
+     */
+    private static final int VERTEX_BATCH = 1 << 16;
+    /**
+     * Exact powers of ten, for the fast path of parsing decimal numbers
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private MeshLoader() {
+    }
+
+    /**
+     * Loads a mesh from a file by its extension: .obj or .ply
+     *
+     * @param path the file
+     * @return the mesh
+     * @throws IllegalArgumentException if the format is unknown or the file is malformed
+     * @throws IllegalStateException    if the file can't be read
+     */
+    public static Mesh load(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".obj")) return loadObj(path);
+        if (name.endsWith(".ply")) return loadPly(path);
+        throw new IllegalArgumentException("Unknown mesh format: " + path);
+    }
+
+    /**
+     * Loads a mesh from a Wavefront OBJ file. Only the vertex positions ("v") and the faces ("f")
+     * are read, negative (relative) vertex indices included; all other statements are ignored.
+     *
+     * @param path the file
+     * @return the mesh
+     * @throws IllegalArgumentException if the file is malformed
+     * @throws IllegalStateException    if the file can't be read
+     */
+    public static Mesh loadObj(Path path) {
+        ByteBuffer buffer = map(path);
+        int size = buffer.limit();
+        int chunkCount = Math.max(1, Math.min(4 * Runtime.getRuntime().availableProcessors(), size / MIN_CHUNK_SIZE));
+        List<ObjChunk> chunks = IntStream.range(0, chunkCount).parallel()
+                .mapToObj(i -> new ObjChunk(buffer.duplicate(), (int) ((long) size * i / chunkCount),
+                        (int) ((long) size * (i + 1) / chunkCount)).parse())
+                .toList();
+
+        int vertexCount = 0, indexCount = 0;
+        for (ObjChunk chunk : chunks) {
+            vertexCount += chunk.vertexCount;
+            indexCount += chunk.indexCount;
+        }
+        double[] vertices = new double[3 * vertexCount];
+        int[] faces = new int[indexCount];
+        int vertexOffset = 0, indexOffset = 0;
+        for (ObjChunk chunk : chunks) {
+            System.arraycopy(chunk.vertices, 0, vertices, 3 * vertexOffset, 3 * chunk.vertexCount);
+            System.arraycopy(chunk.faces, 0, faces, indexOffset, chunk.indexCount);
+            // relative indices were resolved against the start of their chunk
+            for (int i = 0; i < chunk.relativeCount; ++i)
+                faces[indexOffset + chunk.relative[i]] += vertexOffset;
+            vertexOffset += chunk.vertexCount;
+            indexOffset += chunk.indexCount;
+        }
+        return new Mesh(vertices, faces);
+    }
+
+    /**
+     * Loads a mesh from a binary (little or big endian) PLY file. The "x", "y" and "z" properties
+     * of the "vertex" element and the "vertex_indices" (or "vertex_index") list of the "face"
+     * element are read; all other properties and elements are skipped.
+     *
+     * @param path the file
+     * @return the mesh
+     * @throws IllegalArgumentException if the file is malformed or is an ASCII PLY file
+     * @throws IllegalStateException    if the file can't be read
+     */
+    public static Mesh loadPly(Path path) {
+        ByteBuffer buffer = map(path);
+        List<PlyElement> elements = new ArrayList<>();
+        if (!"ply".equals(readLine(buffer))) throw new IllegalArgumentException("Not a PLY file: " + path);
+        PlyElement element = null;
+        while (true) {
+            String line = readLine(buffer);
+            if (line == null) throw new IllegalArgumentException("PLY header isn't terminated: " + path);
+            String[] words = line.trim().split("\\s+");
+            switch (words[0]) {
+                case "format" -> {
+                    if (words.length < 2) throw new IllegalArgumentException("PLY format without a value: " + path);
+                    if (words[1].equals("binary_little_endian")) buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    else if (words[1].equals("binary_big_endian")) buffer.order(ByteOrder.BIG_ENDIAN);
+                    else throw new IllegalArgumentException("Unsupported PLY format " + words[1] + ": " + path);
+                }
+                case "element" -> {
+                    if (words.length < 3) throw new IllegalArgumentException("PLY element without a count: " + path);
+                    int count;
+                    try {
+                        count = Integer.parseInt(words[2]);
+                    } catch (NumberFormatException e) {
+                        count = -1;
+                    }
+                    if (count < 0) throw new IllegalArgumentException("Wrong PLY element count " + words[2] + ": " + path);
+                    elements.add(element = new PlyElement(words[1], count));
+                }
+                case "property" -> {
+                    if (element == null) throw new IllegalArgumentException("PLY property out of element: " + path);
+                    boolean list = words.length > 1 && words[1].equals("list");
+                    if (words.length < (list ? 5 : 3))
+                        throw new IllegalArgumentException("PLY property without a type or a name: " + path);
+                    element.properties.add(list
+                            ? new PlyProperty(words[4], PlyType.of(words[2], path), PlyType.of(words[3], path))
+                            : new PlyProperty(words[2], null, PlyType.of(words[1], path)));
+                }
+                default -> {
+                    // comments, obj_info and unknown statements
+                }
+            }
+            if (words[0].equals("end_header")) break;
+        }
+
+        double[] vertices = null;
+        int[] faces = null;
+        for (PlyElement e : elements) {
+            if (e.name.equals("vertex")) vertices = readPlyVertices(buffer, e, path);
+            else if (e.name.equals("face")) faces = readPlyFaces(buffer, e, path);
+            else e.skip(buffer, path);
+        }
+        if (vertices == null || faces == null)
+            throw new IllegalArgumentException("PLY file has no vertices or faces: " + path);
+        return new Mesh(vertices, faces);
+    }
+
+    /**
+     * Maps a file into memory
+     *
+     * @param path the file
+     * @return read-only buffer of the whole file
+     * @throws IllegalArgumentException if the file is too large to be mapped at once
+     * @throws IllegalStateException    if the file can't be read
+     */
+    private static ByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Mesh file is larger than 2GB: " + path);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't read " + path, e);
+        }
+    }
+
+    /**
+     * Reads an ASCII line of a header
+     *
+     * @param buffer the buffer, positioned at the line
+     * @return the line without its terminator, null at the end of the buffer
+     */
+    private static String readLine(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) return null;
+        int start = buffer.position();
+        while (buffer.hasRemaining() && buffer.get() != '\n') ;
+        int end = buffer.position();
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII).strip();
+    }
+
+    /**
+     * Checks that a range of the body of a PLY file ends inside the file
+     *
+     * @param buffer the buffer
+     * @param end    the end of the range
+     * @param path   the file
+     * @return the end of the range
+     * @throws IllegalArgumentException if the file is shorter than the range
+     */
+    private static int checkEnd(ByteBuffer buffer, long end, Path path) {
+        if (end > buffer.limit()) throw new IllegalArgumentException("PLY file is truncated: " + path);
+        return (int) end;
+    }
+
+    /**
+     * Decodes the vertex positions of a PLY vertex element, in parallel batches
+     *
+     * @param buffer  the buffer, positioned at the element
+     * @param element the vertex element
+     * @param path    the file
+     * @return the vertex positions, three values per vertex
+     * @throws IllegalArgumentException if the element is malformed or the file is truncated
+     */
+    private static double[] readPlyVertices(ByteBuffer buffer, PlyElement element, Path path) {
+        int stride = 0;
+        int[] offsets = {-1, -1, -1};
+        PlyType[] types = new PlyType[3];
+        for (PlyProperty property : element.properties) {
+            if (property.countType != null)
+                throw new IllegalArgumentException("PLY vertex with a list property isn't supported: " + path);
+            int axis = switch (property.name) {
+                case "x" -> 0;
+                case "y" -> 1;
+                case "z" -> 2;
+                default -> -1;
+            };
+            if (axis >= 0) {
+                offsets[axis] = stride;
+                types[axis] = property.type;
+            }
+            stride += property.type.size;
+        }
+        if (offsets[0] < 0 || offsets[1] < 0 || offsets[2] < 0)
+            throw new IllegalArgumentException("PLY vertex without x, y and z: " + path);
+
+        int count = element.count;
+        int base = buffer.position();
+        // the whole element is checked at once, so the parallel batches read inside the file
+        int elementEnd = checkEnd(buffer, base + (long) count * stride, path);
+        double[] vertices = new double[3 * count];
+        int vertexStride = stride;
+        IntStream.range(0, (count + VERTEX_BATCH - 1) / VERTEX_BATCH).parallel().forEach(batch -> {
+            for (int v = batch * VERTEX_BATCH, end = Math.min(count, v + VERTEX_BATCH); v < end; ++v) {
+                int at = base + v * vertexStride;
+                for (int axis = 0; axis < 3; ++axis)
+                    vertices[3 * v + axis] = types[axis].read(buffer, at + offsets[axis]);
+            }
+        });
+        buffer.position(elementEnd);
+        return vertices;
+    }
+
+    /**
+     * Decodes the vertex indices of a PLY face element
+     *
+     * @param buffer  the buffer, positioned at the element
+     * @param element the face element
+     * @param path    the file
+     * @return the faces, three vertex indices per face
+     * @throws IllegalArgumentException if a face is malformed or the file is truncated
+     */
+    private static int[] readPlyFaces(ByteBuffer buffer, PlyElement element, Path path) {
+        // the count may be wrong, so the faces are allocated as they are read
+        int[] faces = new int[3 * Math.max(1, Math.min(element.count, VERTEX_BATCH))];
+        int size = 0;
+        int at = buffer.position();
+        for (int f = 0; f < element.count; ++f) {
+            for (PlyProperty property : element.properties) {
+                if (property.countType == null) {
+                    at = checkEnd(buffer, (long) at + property.type.size, path);
+                    continue;
+                }
+                checkEnd(buffer, (long) at + property.countType.size, path);
+                int n = (int) property.countType.read(buffer, at);
+                at += property.countType.size;
+                if (n < 0) throw new IllegalArgumentException("PLY list with a negative length: " + path);
+                int end = checkEnd(buffer, at + (long) n * property.type.size, path);
+                if (!property.name.equals("vertex_indices") && !property.name.equals("vertex_index")) {
+                    at = end;
+                    continue;
+                }
+                if (n < 3) throw new IllegalArgumentException("PLY face with less than 3 vertices: " + path);
+                int first = (int) property.type.read(buffer, at);
+                int previous = (int) property.type.read(buffer, at + property.type.size);
+                for (int i = 2; i < n; ++i) {
+                    int current = (int) property.type.read(buffer, at + i * property.type.size);
+                    if (size + 3 > faces.length) faces = Arrays.copyOf(faces, 2 * faces.length);
+                    faces[size++] = first;
+                    faces[size++] = previous;
+                    faces[size++] = current;
+                    previous = current;
+                }
+                at = end;
+            }
+        }
+        buffer.position(at);
+        return size == faces.length ? faces : Arrays.copyOf(faces, size);
+    }
+
+    /**
+     * Scalar types of PLY properties
+     */
+    private enum PlyType {
+        CHAR(1), UCHAR(1), SHORT(2), USHORT(2), INT(4), UINT(4), FLOAT(4), DOUBLE(8);
+
+        /**
+         * size of the value in bytes
+         */
+        private final int size;
+
+        /**
+         * constructor
+         *
+         * @param size size of the value in bytes
+         */
+        PlyType(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Finds a type by its name in a PLY header
+         *
+         * @param name the name of the type
+         * @param path the file
+         * @return the type
+         * @throws IllegalArgumentException if the type is unknown
+         */
+        private static PlyType of(String name, Path path) {
+            return switch (name) {
+                case "char", "int8" -> CHAR;
+                case "uchar", "uint8" -> UCHAR;
+                case "short", "int16" -> SHORT;
+                case "ushort", "uint16" -> USHORT;
+                case "int", "int32" -> INT;
+                case "uint", "uint32" -> UINT;
+                case "float", "float32" -> FLOAT;
+                case "double", "float64" -> DOUBLE;
+                default -> throw new IllegalArgumentException("Unknown PLY type " + name + ": " + path);
+            };
+        }
+
+        /**
+         * Reads a value
+         *
+         * @param buffer the buffer
+         * @param at     the position of the value
+         * @return the value
+         */
+        private double read(ByteBuffer buffer, int at) {
+            return switch (this) {
+                case CHAR -> buffer.get(at);
+                case UCHAR -> buffer.get(at) & 0xFF;
+                case SHORT -> buffer.getShort(at);
+                case USHORT -> buffer.getShort(at) & 0xFFFF;
+                case INT -> buffer.getInt(at);
+                case UINT -> buffer.getInt(at) & 0xFFFFFFFFL;
+                case FLOAT -> buffer.getFloat(at);
+                case DOUBLE -> buffer.getDouble(at);
+            };
+        }
+    }
+
+    /**
+     * Property of a PLY element
+     *
+     * @param name      the name of the property
+     * @param countType the type of the length of a list property, null for a scalar property
+     * @param type      the type of the value (of the items for a list property)
+     */
+    private record PlyProperty(String name, PlyType countType, PlyType type) {
+    }
+
+    /**
+     * Element of a PLY file
+     */
+    private static final class PlyElement {
+        /**
+         * the name of the element
+         */
+        private final String name;
+        /**
+         * amount of the element instances
+         */
+        private final int count;
+        /**
+         * properties of the element
+         */
+        private final List<PlyProperty> properties = new ArrayList<>();
+
+        /**
+         * constructor
+         *
+         * @param name  the name of the element
+         * @param count amount of the element instances
+         */
+        private PlyElement(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        /**
+         * Skips the instances of the element
+         *
+         * @param buffer the buffer, positioned at the element
+         * @param path   the file
+         * @throws IllegalArgumentException if the file is truncated
+         */
+        private void skip(ByteBuffer buffer, Path path) {
+            int at = buffer.position();
+            for (int i = 0; i < this.count; ++i)
+                for (PlyProperty property : this.properties) {
+                    if (property.countType != null) {
+                        checkEnd(buffer, (long) at + property.countType.size, path);
+                        int n = (int) property.countType.read(buffer, at);
+                        if (n < 0) throw new IllegalArgumentException("PLY list with a negative length: " + path);
+                        at = checkEnd(buffer, (long) at + property.countType.size + (long) n * property.type.size, path);
+                    } else at = checkEnd(buffer, (long) at + property.type.size, path);
+                }
+            buffer.position(at);
+        }
+    }
+
+    /**
+     * Chunk of an OBJ file, parsed into its own buffers. The chunk holds the lines that start
+     * in its range. Relative vertex indices are resolved against the first vertex of the chunk,
+     * and their positions are recorded, so they are shifted when the chunks are joined.
+     */
+    private static final class ObjChunk {
+        /**
+         * the file
+         */
+        private final ByteBuffer buffer;
+        /**
+         * the end of the range
+         */
+        private final int end;
+        /**
+         * current position
+         */
+        private int pos;
+
+        /**
+         * vertex positions of the chunk
+         */
+        private double[] vertices = new double[3 * 1024];
+        /**
+         * amount of vertices of the chunk
+         */
+        private int vertexCount = 0;
+        /**
+         * vertex indices of the faces of the chunk
+         */
+        private int[] faces = new int[3 * 1024];
+        /**
+         * amount of vertex indices of the chunk
+         */
+        private int indexCount = 0;
+        /**
+         * positions of the relative vertex indices in {@link #faces}
+         */
+        private int[] relative = new int[0];
+        /**
+         * amount of the relative vertex indices
+         */
+        private int relativeCount = 0;
+        /**
+         * vertex indices of the current face
+         */
+        private int[] polygon = new int[16];
+        /**
+         * whether the vertex indices of the current face are relative
+         */
+        private boolean[] polygonRelative = new boolean[16];
+
+        /**
+         * constructor
+         *
+         * @param buffer the file
+         * @param start  the start of the range
+         * @param end    the end of the range
+         */
+        private ObjChunk(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.end = end;
+            this.pos = start;
+            // a line that starts before the range belongs to the previous chunk
+            if (start > 0 && buffer.get(start - 1) != '\n') skipLine();
+        }
+
+        /**
+         * Parses the lines that start in the range
+         *
+         * @return this chunk
+         */
+        private ObjChunk parse() {
+            int limit = this.buffer.limit();
+            while (this.pos < this.end) {
+                skipBlanks();
+                if (this.pos >= limit) break;
+                byte c = this.buffer.get(this.pos);
+                if (c == 'v' && isBlank(this.pos + 1)) {
+                    ++this.pos;
+                    parseVertex();
+                } else if (c == 'f' && isBlank(this.pos + 1)) {
+                    ++this.pos;
+                    parseFace();
+                }
+                skipLine();
+            }
+            return this;
+        }
+
+        /**
+         * Parses the coordinates of a vertex
+         */
+        private void parseVertex() {
+            if (3 * this.vertexCount + 3 > this.vertices.length)
+                this.vertices = Arrays.copyOf(this.vertices, 2 * this.vertices.length);
+            for (int axis = 0; axis < 3; ++axis)
+                this.vertices[3 * this.vertexCount + axis] = parseDouble();
+            ++this.vertexCount;
+        }
+
+        /**
+         * Parses the vertex indices of a face and triangulates it as a fan
+         */
+        private void parseFace() {
+            int n = 0;
+            while (true) {
+                skipBlanks();
+                if (this.pos >= this.buffer.limit()) break;
+                byte c = this.buffer.get(this.pos);
+                if (c != '-' && (c < '0' || c > '9')) break;
+                long index = parseInt();
+                // skip the texture and normal indices
+                while (this.pos < this.buffer.limit() && !isBlank(this.pos) && !isEndOfLine(this.pos)) ++this.pos;
+                if (n == this.polygon.length) {
+                    this.polygon = Arrays.copyOf(this.polygon, 2 * n);
+                    this.polygonRelative = Arrays.copyOf(this.polygonRelative, 2 * n);
+                }
+                if (index > 0) {
+                    this.polygon[n] = (int) (index - 1);
+                    this.polygonRelative[n++] = false;
+                } else if (index < 0) {
+                    this.polygon[n] = (int) (this.vertexCount + index);
+                    this.polygonRelative[n++] = true;
+                } else throw new IllegalArgumentException("OBJ vertex index can't be 0");
+            }
+            if (n < 3) throw new IllegalArgumentException("OBJ face with less than 3 vertices");
+            for (int i = 2; i < n; ++i) {
+                addIndex(0);
+                addIndex(i - 1);
+                addIndex(i);
+            }
+        }
+
+        /**
+         * Adds a vertex index of the current face to the chunk faces
+         *
+         * @param i the position of the index in the face
+         */
+        private void addIndex(int i) {
+            if (this.indexCount == this.faces.length) this.faces = Arrays.copyOf(this.faces, 2 * this.faces.length);
+            if (this.polygonRelative[i]) {
+                if (this.relativeCount == this.relative.length)
+                    this.relative = Arrays.copyOf(this.relative, Math.max(16, 2 * this.relativeCount));
+                this.relative[this.relativeCount++] = this.indexCount;
+            }
+            this.faces[this.indexCount++] = this.polygon[i];
+        }
+
+        /**
+         * Parses an integer
+         *
+         * @return the integer
+         */
+        private long parseInt() {
+            byte sign = this.buffer.get(this.pos);
+            boolean negative = sign == '-';
+            if (negative || sign == '+') ++this.pos;
+            long value = 0;
+            int limit = this.buffer.limit();
+            int start = this.pos;
+            for (byte c; this.pos < limit && (c = this.buffer.get(this.pos)) >= '0' && c <= '9'; ++this.pos)
+                value = 10 * value + (c - '0');
+            if (this.pos == start) throw new IllegalArgumentException("OBJ number expected");
+            return negative ? -value : value;
+        }
+
+        /**
+         * Parses a decimal number. Numbers of up to 15 significant digits with small exponents
+         * are calculated exactly (a single correctly rounded operation), others are left to
+         * {@link Double#parseDouble(String)}.
+         *
+         * @return the number
+         */
+        private double parseDouble() {
+            skipBlanks();
+            int limit = this.buffer.limit();
+            int start = this.pos;
+            boolean negative = false;
+            if (this.pos < limit) {
+                byte c = this.buffer.get(this.pos);
+                if (c == '-' || c == '+') {
+                    negative = c == '-';
+                    ++this.pos;
+                }
+            }
+            long mantissa = 0;
+            int digits = 0, scale = 0;
+            boolean any = false, dot = false;
+            for (; this.pos < limit; ++this.pos) {
+                byte c = this.buffer.get(this.pos);
+                if (c >= '0' && c <= '9') {
+                    any = true;
+                    if (digits < 18) {
+                        if (mantissa != 0 || c != '0') ++digits;
+                        mantissa = 10 * mantissa + (c - '0');
+                        if (dot) --scale;
+                    } else {
+                        ++digits;
+                        if (!dot) ++scale;
+                    }
+                } else if (c == '.' && !dot) dot = true;
+                else break;
+            }
+            if (!any) throw new IllegalArgumentException("OBJ number expected");
+            int exponent = 0;
+            if (this.pos < limit && (this.buffer.get(this.pos) | 0x20) == 'e') {
+                ++this.pos;
+                long e = parseInt();
+                exponent = (int) Math.max(-9999, Math.min(9999, e));
+            }
+            int power = scale + exponent;
+            if (digits <= 15 && Math.abs(power) <= 22) {
+                double value = power < 0 ? mantissa / POWERS_OF_TEN[-power] : mantissa * POWERS_OF_TEN[power];
+                return negative ? -value : value;
+            }
+            byte[] bytes = new byte[this.pos - start];
+            this.buffer.get(start, bytes);
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Skips spaces and tabs
+         */
+        private void skipBlanks() {
+            int limit = this.buffer.limit();
+            while (this.pos < limit && isBlank(this.pos)) ++this.pos;
+        }
+
+        /**
+         * Skips to the start of the next line
+         */
+        private void skipLine() {
+            int limit = this.buffer.limit();
+            while (this.pos < limit && this.buffer.get(this.pos) != '\n') ++this.pos;
+            ++this.pos;
+        }
+
+        /**
+         * @param at a position
+         * @return true if there is a space or a tab at the position
+         */
+        private boolean isBlank(int at) {
+            if (at >= this.buffer.limit()) return false;
+            byte c = this.buffer.get(at);
+            return c == ' ' || c == '\t';
+        }
+
+        /**
+         * @param at a position
+         * @return true if a line ends at the position
+         */
+        private boolean isEndOfLine(int at) {
+            byte c = this.buffer.get(at);
+            return c == '\n' || c == '\r';
+        }
+    }
+}
@@ -3,6 +3,7 @@ package geometries;
 import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vec3;
 import primitives.Vector;
 
 import java.util.List;
@@ -66,12 +67,33 @@ public class Plane extends Geometry {
             return null;
 
         // Calculate intersection point
-        Vector p0Q0 = this.q0.subtract(p0);
-        double nP0Q0 = alignZero(n.dotProduct(p0Q0));
+        double nP0Q0 = alignZero(new Vec3().sub(this.q0, p0).dot(n));
         double t = alignZero(nP0Q0 / nv);
         return (t > 0 && alignZero(t - maxDistance) <= 0) ? List.of(new GeoPoint(this, ray.getPoint(t))) : null;
     }
 
+    @Override
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        Point p0 = ray.getP0();
+        double nv = alignZero(this.normal.dotProduct(ray.getDir()));
+        if (nv == 0 || this.q0.equals(p0))
+            return false;
+        double t = alignZero(alignZero(new Vec3().sub(this.q0, p0).dot(this.normal)) / nv);
+        return t > 0 && hit.update(this, t);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        Point p0 = ray.getP0();
+        double nv = alignZero(this.normal.dotProduct(ray.getDir()));
+        if (nv == 0 || this.q0.equals(p0))
+            return k;
+        double t = alignZero(alignZero(new Vec3().sub(this.q0, p0).dot(this.normal)) / nv);
+        if (t <= 0 || alignZero(maxDistance - t) <= 0) return k;
+        k = k.product(getMaterial().kT);
+        return k.lowerThan(minK) ? Double3.ZERO : k;
+    }
+
     /**
      * returns the normal vector to the plane.
      *
@@ -7,6 +7,7 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /**
@@ -58,7 +59,7 @@ public class Polygon extends Geometry {
         double sumY = 0;
         double sumZ = 0;
 
-        Point minPoint = new Point(0, 0, 0);
+        Point minPoint = new Point(Double3.POSITIVE_INFINITY);
         Point maxPoint = new Point(Double3.NEGATIVE_INFINITY);
         //find min point and max point and center point
         for (Point p : vertices) {
@@ -112,10 +113,38 @@ public class Polygon extends Geometry {
         return plane.getNormal();
     }
 
-    /* @Override
-     public List<Point> findIntersections(Ray ray) {
-         return null;
-     }*/
+    /**
+     * Intersects a ray with the plane of the polygon, and keeps the intersection if it's inside
+     * the polygon: the ray passes on the same side of all the edges, i.e. its direction has
+     * the same sign of dot product with the normals of all the triangles of the ray head
+     * and an edge. Intersections on the edges and the vertices are not counted.
+     *
+     * @param ray         to intersect with
+     * @param maxDistance to limit the intersection point
+     * @return a list of the intersection point, null if there is none
+     */
     @Override
-    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray,double maxDistance) {return null;}
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = this.plane.findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null) return null;
+
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        double dx = dir.getX(), dy = dir.getY(), dz = dir.getZ();
+        // the edges are calculated on the coordinates, since the ray head may be on a vertex or an edge
+        Point last = this.vertices.get(this.vertices.size() - 1);
+        double ax = last.getX() - p0.getX(), ay = last.getY() - p0.getY(), az = last.getZ() - p0.getZ();
+        double sign = 0;
+        for (Point vertex : this.vertices) {
+            double bx = vertex.getX() - p0.getX(), by = vertex.getY() - p0.getY(), bz = vertex.getZ() - p0.getZ();
+            // dir . (a x b)
+            double side = alignZero(dx * (ay * bz - az * by) + dy * (az * bx - ax * bz) + dz * (ax * by - ay * bx));
+            if (side == 0 || side * sign < 0) return null;
+            sign = side;
+            ax = bx;
+            ay = by;
+            az = bz;
+        }
+        return List.of(new GeoPoint(this, intersections.get(0).point));
+    }
 }
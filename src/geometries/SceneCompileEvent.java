@@ -0,0 +1,40 @@
+package geometries;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the compilation of geometries into a bounding volume hierarchy
+ * (see {@link Geometries#buildBVH()})
+ *
+ * @author Avidan and Ziv
+ */
+@Name("raytracer.SceneCompile")
+@Label("Scene Compile")
+@Category({"Ray Tracer", "Scene"})
+@Description("Compilation of the geometries of a scene into a bounding volume hierarchy")
+class SceneCompileEvent extends Event {
+    /**
+     * Amount of geometries in the hierarchy
+     */
+    @Label("Bounded Geometries")
+    int boundedGeometries;
+    /**
+     * Amount of geometries that are tested for every ray
+     */
+    @Label("Unbounded Geometries")
+    int unboundedGeometries;
+    /**
+     * Amount of nodes of the hierarchy
+     */
+    @Label("Nodes")
+    int nodes;
+    /**
+     * Depth of the hierarchy
+     */
+    @Label("Depth")
+    int depth;
+}
@@ -3,6 +3,7 @@ package geometries;
 import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vec3;
 import primitives.Vector;
 
 import java.util.List;
@@ -44,11 +45,9 @@ public class Sphere extends RadialGeometry {
         if (ray.getP0().equals(this.center)) {
             return List.of(new GeoPoint(this, this.center.add(ray.getDir().scale(this.radius))));
         }
-        Point point = ray.getP0();
-        Vector dirVector = ray.getDir();
-        Vector p0O = this.center.subtract(point);
-        double tM = alignZero(dirVector.dotProduct(p0O));
-        double d2 = alignZero(p0O.dotProduct(p0O) - tM * tM);
+        Vec3 p0O = new Vec3().sub(this.center, ray.getP0());
+        double tM = alignZero(p0O.dot(ray.getDir()));
+        double d2 = alignZero(p0O.lengthSquared() - tM * tM);
         // if the ray starts outside the sphere and goes away from it
         if (alignZero(d2 - this.radius2) >= 0)
             return null;
@@ -64,4 +63,49 @@ public class Sphere extends RadialGeometry {
                 ? List.of(new GeoPoint(this, ray.getPoint(t2))) //
                 : List.of(new GeoPoint(this, ray.getPoint(t1)), new GeoPoint(this, ray.getPoint(t2)));
     }
+
+    @Override
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        // if the ray starts at the center of the sphere
+        if (ray.getP0().equals(this.center))
+            return hit.update(this, this.radius);
+        Vec3 p0O = new Vec3().sub(this.center, ray.getP0());
+        double tM = alignZero(p0O.dot(ray.getDir()));
+        double d2 = alignZero(p0O.lengthSquared() - tM * tM);
+        if (alignZero(d2 - this.radius2) >= 0)
+            return false;
+        double tH = alignZero(Math.sqrt(this.radius2 - d2));
+        double t1 = alignZero(tM - tH);
+        if (t1 > 0) return hit.update(this, t1);
+        double t2 = alignZero(tM + tH);
+        return t2 > 0 && hit.update(this, t2);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        double t1, t2;
+        if (ray.getP0().equals(this.center)) {
+            t1 = 0;
+            t2 = this.radius;
+        } else {
+            Vec3 p0O = new Vec3().sub(this.center, ray.getP0());
+            double tM = alignZero(p0O.dot(ray.getDir()));
+            double d2 = alignZero(p0O.lengthSquared() - tM * tM);
+            if (alignZero(d2 - this.radius2) >= 0)
+                return k;
+            double tH = alignZero(Math.sqrt(this.radius2 - d2));
+            t1 = alignZero(tM - tH);
+            t2 = alignZero(tM + tH);
+        }
+        Double3 kT = getMaterial().kT;
+        if (t1 > 0 && alignZero(maxDistance - t1) > 0) {
+            k = k.product(kT);
+            if (k.lowerThan(minK)) return Double3.ZERO;
+        }
+        if (t2 > 0 && alignZero(maxDistance - t2) > 0) {
+            k = k.product(kT);
+            if (k.lowerThan(minK)) return Double3.ZERO;
+        }
+        return k;
+    }
 }
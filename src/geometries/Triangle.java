@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -7,11 +8,19 @@ import primitives.Vector;
 import java.util.List;
 
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /**
- * Triangle class represents a triangle in 3D Cartesian coordinate system
+ * Triangle class represents a triangle in 3D Cartesian coordinate system.
+ * Rays are intersected with the triangle by the Moller-Trumbore algorithm over its precomputed edges.
  */
 public class Triangle extends Polygon {
+    /**
+     * The edges from the first vertex to the second vertex and to the third vertex
+     * (x, y, z of each edge)
+     */
+    private final double e1x, e1y, e1z, e2x, e2y, e2z;
+
     /**
      * Constructs a new Triangle object with the specified vertices.
      *
@@ -21,32 +30,99 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point v1, Point v2, Point v3) {
         super(v1, v2, v3);
+        this.e1x = v2.getX() - v1.getX();
+        this.e1y = v2.getY() - v1.getY();
+        this.e1z = v2.getZ() - v1.getZ();
+        this.e2x = v3.getX() - v1.getX();
+        this.e2y = v3.getY() - v1.getY();
+        this.e2z = v3.getZ() - v1.getZ();
+    }
+
+    /**
+     * Intersects a ray with a triangle by the Moller-Trumbore algorithm. The test needs two
+     * cross products (of the direction and the second edge, and of the vector from the first
+     * vertex to the ray head and the first edge) and no square root, and the intersection point
+     * is never calculated. Intersections on the edges and the vertices are not counted.
+     *
+     * @param ray         the ray
+     * @param v0x         x of the first vertex
+     * @param v0y         y of the first vertex
+     * @param v0z         z of the first vertex
+     * @param e1x         x of the edge from the first vertex to the second one
+     * @param e1y         y of the edge from the first vertex to the second one
+     * @param e1z         z of the edge from the first vertex to the second one
+     * @param e2x         x of the edge from the first vertex to the third one
+     * @param e2y         y of the edge from the first vertex to the third one
+     * @param e2z         z of the edge from the first vertex to the third one
+     * @param maxDistance to limit the intersection point
+     * @param barycentric receives the barycentric coordinates of the intersection - the weights
+     *                    of the second and the third vertex, may be null
+     * @return the distance of the intersection from the ray head, or -1 if there is none
+     */
+    static double intersect(Ray ray, double v0x, double v0y, double v0z,
+                            double e1x, double e1y, double e1z, double e2x, double e2y, double e2z,
+                            double maxDistance, double[] barycentric) {
+        Point p0 = ray.getP0();
+        Vector dir = ray.getDir();
+        double dx = dir.getX(), dy = dir.getY(), dz = dir.getZ();
+
+        // p = dir x e2
+        double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        // the ray is parallel to the triangle plane
+        if (isZero(det)) return -1;
+        double invDet = 1 / det;
+
+        double tx = p0.getX() - v0x, ty = p0.getY() - v0y, tz = p0.getZ() - v0z;
+        double u = alignZero((tx * px + ty * py + tz * pz) * invDet);
+        if (u <= 0 || u >= 1) return -1;
+
+        // q = t x e1
+        double qx = ty * e1z - tz * e1y, qy = tz * e1x - tx * e1z, qz = tx * e1y - ty * e1x;
+        double v = alignZero((dx * qx + dy * qy + dz * qz) * invDet);
+        if (v <= 0 || alignZero(1 - u - v) <= 0) return -1;
+
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        if (t <= 0 || alignZero(t - maxDistance) > 0) return -1;
+        if (barycentric != null) {
+            barycentric[0] = u;
+            barycentric[1] = v;
+        }
+        return t;
+    }
+
+    /**
+     * Intersects a ray with the triangle by the Moller-Trumbore algorithm
+     *
+     * @param ray         the ray
+     * @param maxDistance to limit the intersection point
+     * @param barycentric receives the barycentric coordinates of the intersection - the weights
+     *                    of the second and the third vertex, may be null
+     * @return the distance of the intersection from the ray head, or -1 if there is none
+     */
+    public double intersect(Ray ray, double maxDistance, double[] barycentric) {
+        Point v0 = this.vertices.get(0);
+        return intersect(ray, v0.getX(), v0.getY(), v0.getZ(), this.e1x, this.e1y, this.e1z,
+                this.e2x, this.e2y, this.e2z, maxDistance, barycentric);
     }
 
     @Override
-    public final List<GeoPoint> findGeoIntersectionsHelper(Ray ray,double maxDistance) {
-        List<GeoPoint> intersections = super.plane.findGeoIntersections(ray, maxDistance);
-        // Check if the ray intersects the plane of the triangle.
-        if (intersections == null)
-            return null;
-        GeoPoint p = intersections.get(0);
-        // Check if the ray intersects the triangle.
-        Vector v1 = this.vertices.get(0).subtract(ray.getP0());
-        Vector v2 = this.vertices.get(1).subtract(ray.getP0());
-        Vector n1 = v1.crossProduct(v2).normalize();
-        double dotProduct1 = alignZero(n1.dotProduct(ray.getDir()));
-        if (dotProduct1 == 0) return null;
-
-        Vector v3 = this.vertices.get(2).subtract(ray.getP0());
-        Vector n2 = v2.crossProduct(v3).normalize();
-        double dotProduct2 = alignZero(n2.dotProduct(ray.getDir()));
-        if (dotProduct2 * dotProduct1 <= 0) return null;
-
-        Vector n3 = v3.crossProduct(v1).normalize();
-        double dotProduct3 = n3.dotProduct(ray.getDir());
-        if (dotProduct3 * dotProduct1 <= 0) return null;
-
-        return List.of(new GeoPoint(this, p.point));
+    public final List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance, null);
+        return t < 0 ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
     }
-}
 
+    @Override
+    protected boolean findClosestGeoIntersectionHelper(Ray ray, ClosestHit hit) {
+        double t = intersect(ray, hit.distance, null);
+        return t > 0 && hit.update(this, t);
+    }
+
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance, Double3 k, Double3 minK) {
+        double t = intersect(ray, maxDistance, null);
+        if (t < 0 || alignZero(maxDistance - t) <= 0) return k;
+        k = k.product(getMaterial().kT);
+        return k.lowerThan(minK) ? Double3.ZERO : k;
+    }
+}
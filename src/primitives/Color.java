@@ -85,6 +85,33 @@ public class Color {
         return new Color(r / size, g / size, b / size);
     }
 
+    /**
+     * Getter for the red component
+     *
+     * @return the red component of the color
+     */
+    public double getRed() {
+        return rgb.d1;
+    }
+
+    /**
+     * Getter for the green component
+     *
+     * @return the green component of the color
+     */
+    public double getGreen() {
+        return rgb.d2;
+    }
+
+    /**
+     * Getter for the blue component
+     *
+     * @return the blue component of the color
+     */
+    public double getBlue() {
+        return rgb.d3;
+    }
+
     /**
      * Color getter - returns the color after converting it into java.awt.Color
      * object During the conversion any component bigger than 255 is set to 255
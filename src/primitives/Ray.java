@@ -42,7 +42,7 @@ public class Ray {
      */
     public Ray(Point p0, Vector dir, Vector normal) {
         double delta = dir.dotProduct(normal) >= 0 ? DELTA : -DELTA;
-        this.p0 = p0.add(normal.scale(delta));
+        this.p0 = new Vec3().set(p0).addScaled(normal, delta).toPoint();
         this.dir = dir;
     }
 
@@ -82,7 +82,7 @@ public class Ray {
      * @return The calculated point
      */
     public Point getPoint(double t) {
-        return isZero(t) ? p0 : this.p0.add(this.dir.scale(t));
+        return isZero(t) ? p0 : new Vec3().set(this.p0).addScaled(this.dir, t).toPoint();
     }
 
     /**
@@ -107,7 +107,7 @@ public class Ray {
         GeoPoint result = null;
         double minDistance = Double.POSITIVE_INFINITY;
         for (GeoPoint point : points) {
-            double distance = point.point.distance(this.p0);
+            double distance = point.point.distanceSquared(this.p0);
             if (distance < minDistance) {
                 minDistance = distance;
                 result = point;
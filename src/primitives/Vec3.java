@@ -0,0 +1,166 @@
+package primitives;
+
+/**
+ * Mutable triad of coordinates for the scratch math of the tracing hot path.<br/>
+ * Every operation updates this object in place and returns it, so a chain of
+ * operations allocates nothing, unlike the immutable {@link Point} and {@link Vector}.
+ * A Vec3 is not thread safe - it is meant to be a local of the method that uses it,
+ * and to be converted into a Point or a Vector only for the final result.
+ *
+ * @author Avidan and Ziv
+ */
+public final class Vec3 {
+    /**
+     * x coordinate
+     */
+    public double x;
+    /**
+     * y coordinate
+     */
+    public double y;
+    /**
+     * z coordinate
+     */
+    public double z;
+
+    /**
+     * Sets the coordinates
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @return this object
+     */
+    public Vec3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets the coordinates to those of a point (or a vector)
+     *
+     * @param p the point
+     * @return this object
+     */
+    public Vec3 set(Point p) {
+        return set(p.xyz.d1, p.xyz.d2, p.xyz.d3);
+    }
+
+    /**
+     * Sets the coordinates to the difference of two points (a - b)
+     *
+     * @param a the point to subtract from
+     * @param b the point to subtract
+     * @return this object
+     */
+    public Vec3 sub(Point a, Point b) {
+        return set(a.xyz.d1 - b.xyz.d1, a.xyz.d2 - b.xyz.d2, a.xyz.d3 - b.xyz.d3);
+    }
+
+    /**
+     * Subtracts a point (or a vector) from the coordinates
+     *
+     * @param p the point to subtract
+     * @return this object
+     */
+    public Vec3 sub(Point p) {
+        return set(this.x - p.xyz.d1, this.y - p.xyz.d2, this.z - p.xyz.d3);
+    }
+
+    /**
+     * Adds a scaled vector to the coordinates (this + v * k)
+     *
+     * @param v the vector to add
+     * @param k the scaling factor of the vector
+     * @return this object
+     */
+    public Vec3 addScaled(Point v, double k) {
+        return set(this.x + v.xyz.d1 * k, this.y + v.xyz.d2 * k, this.z + v.xyz.d3 * k);
+    }
+
+    /**
+     * Scales the coordinates
+     *
+     * @param k the scaling factor
+     * @return this object
+     */
+    public Vec3 scale(double k) {
+        return set(this.x * k, this.y * k, this.z * k);
+    }
+
+    /**
+     * Sets the coordinates to the cross product of two triads (a x b)
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @return this object
+     */
+    public Vec3 cross(Vec3 a, Vec3 b) {
+        return set(a.y * b.z - a.z * b.y, a.z * b.x - a.x * b.z, a.x * b.y - a.y * b.x);
+    }
+
+    /**
+     * Calculates the dot product with another triad
+     *
+     * @param v the other triad
+     * @return the dot product
+     */
+    public double dot(Vec3 v) {
+        return this.x * v.x + this.y * v.y + this.z * v.z;
+    }
+
+    /**
+     * Calculates the dot product with a vector
+     *
+     * @param v the vector
+     * @return the dot product
+     */
+    public double dot(Vector v) {
+        return this.x * v.xyz.d1 + this.y * v.xyz.d2 + this.z * v.xyz.d3;
+    }
+
+    /**
+     * Calculates the squared length
+     *
+     * @return the squared length
+     */
+    public double lengthSquared() {
+        return this.x * this.x + this.y * this.y + this.z * this.z;
+    }
+
+    /**
+     * Normalizes the coordinates to a unit length
+     *
+     * @return this object
+     */
+    public Vec3 normalize() {
+        double length = Math.sqrt(lengthSquared());
+        return set(this.x / length, this.y / length, this.z / length);
+    }
+
+    /**
+     * Creates an immutable point of the coordinates
+     *
+     * @return the point
+     */
+    public Point toPoint() {
+        return new Point(this.x, this.y, this.z);
+    }
+
+    /**
+     * Creates an immutable vector of the coordinates
+     *
+     * @return the vector
+     * @throws IllegalArgumentException if the coordinates are zero
+     */
+    public Vector toVector() {
+        return new Vector(this.x, this.y, this.z);
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3{(" + this.x + "," + this.y + "," + this.z + ")}";
+    }
+}
@@ -0,0 +1,67 @@
+package renderer;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Sampler of the points on the lens (aperture) disk that the depth of field rays of a pixel
+ * start from. The samples of a pixel are requested by their index, so a sampler can spread
+ * them evenly over the disk (stratified or low-discrepancy sequences) instead of drawing
+ * independent random points, which need many more rays to converge.
+ *
+ * @author Avidan and Ziv
+ */
+@FunctionalInterface
+public interface ApertureSampler {
+    /**
+     * Calculates a sample point on the unit disk
+     *
+     * @param pixel  the index of the pixel in the image (row by row)
+     * @param index  the index of the sample in the pixel
+     * @param count  amount of samples of the pixel
+     * @param random random generator of the calling thread or the pixel
+     * @param point  receives the coordinates of the point on the unit disk (along the right
+     *               and the up vectors of the camera)
+     */
+    void sample(long pixel, int index, int count, RandomGenerator random, double[] point);
+
+    /**
+     * Creates a sampler of independent uniformly distributed points
+     *
+     * @return the sampler
+     */
+    static ApertureSampler random() {
+        return (pixel, index, count, random, point) ->
+                ApertureSamplers.toDisk(random.nextDouble(), random.nextDouble(), point);
+    }
+
+    /**
+     * Creates a sampler that splits the disk into as many cells of the same area as there are
+     * samples - rows of (about) the same amount of cells - and places each sample at a random
+     * position in its own cell (jittered sampling)
+     *
+     * @return the sampler
+     */
+    static ApertureSampler stratified() {
+        return ApertureSamplers::stratified;
+    }
+
+    /**
+     * Creates a sampler along the Halton low-discrepancy sequence (bases 2 and 3), shifted
+     * by a different offset in every pixel so neighbour pixels don't repeat the same pattern
+     *
+     * @return the sampler
+     */
+    static ApertureSampler halton() {
+        return ApertureSamplers::halton;
+    }
+
+    /**
+     * Creates a sampler from a precomputed table of blue-noise points (no two points are
+     * close to each other), shifted by a different offset in every pixel
+     *
+     * @return the sampler
+     */
+    static ApertureSampler blueNoise() {
+        return ApertureSamplers::blueNoise;
+    }
+}
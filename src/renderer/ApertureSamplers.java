@@ -0,0 +1,220 @@
+package renderer;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implementations of the {@link ApertureSampler} factories.
+ * All the samplers generate points in the unit square and map them onto the unit disk by the
+ * concentric mapping, which keeps the relative distances of the points, so evenly spread points
+ * stay evenly spread on the disk.
+ *
+ * @author Avidan and Ziv
+ */
+final class ApertureSamplers {
+    /**
+     * Amount of points in the blue-noise table
+     */
+    private static final int BLUE_NOISE_SIZE = 256;
+    /**
+     * Amount of candidates of a point of the blue-noise table per point before it (up to the table size)
+     */
+    private static final int BLUE_NOISE_CANDIDATES = 8;
+    /**
+     * Blue-noise points in the unit square (x and y of every point)
+     */
+    private static final double[] BLUE_NOISE = blueNoiseTable();
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ApertureSamplers() {
+    }
+
+    /**
+     * Maps a point of the unit square onto the unit disk by the concentric mapping (Shirley and Chiu)
+     *
+     * @param u     x of the point in the unit square
+     * @param v     y of the point in the unit square
+     * @param point receives the coordinates of the point on the unit disk
+     */
+    static void toDisk(double u, double v, double[] point) {
+        double a = 2 * u - 1, b = 2 * v - 1;
+        if (a == 0 && b == 0) {
+            point[0] = point[1] = 0;
+            return;
+        }
+        double r, phi;
+        if (Math.abs(a) > Math.abs(b)) {
+            r = a;
+            phi = Math.PI / 4 * (b / a);
+        } else {
+            r = b;
+            phi = Math.PI / 2 - Math.PI / 4 * (a / b);
+        }
+        point[0] = r * Math.cos(phi);
+        point[1] = r * Math.sin(phi);
+    }
+
+    /**
+     * Jittered sampling (see {@link ApertureSampler#stratified()})
+     *
+     * @param pixel  the index of the pixel
+     * @param index  the index of the sample
+     * @param count  amount of samples
+     * @param random random generator
+     * @param point  receives the point on the unit disk
+     */
+    static void stratified(long pixel, int index, int count, RandomGenerator random, double[] point) {
+        // the samples are split among about sqrt(count) rows, every row gets a height by its
+        // amount of samples, so all the cells have the same area even if count isn't a square
+        int rows = Math.max(1, (int) Math.round(Math.sqrt(count)));
+        int sample = index % count;
+        int row = (int) ((long) sample * rows / count);
+        int first = (int) (((long) row * count + rows - 1) / rows);
+        int cells = (int) (((long) (row + 1) * count + rows - 1) / rows) - first;
+        toDisk((sample - first + random.nextDouble()) / cells, (first + cells * random.nextDouble()) / count, point);
+    }
+
+    /**
+     * Halton sequence sampling (see {@link ApertureSampler#halton()})
+     *
+     * @param pixel  the index of the pixel
+     * @param index  the index of the sample
+     * @param count  amount of samples
+     * @param random random generator
+     * @param point  receives the point on the unit disk
+     */
+    static void halton(long pixel, int index, int count, RandomGenerator random, double[] point) {
+        long hash = mix(pixel);
+        toDisk(shift(radicalInverse(index + 1, 2), hash), shift(radicalInverse(index + 1, 3), hash >>> 32), point);
+    }
+
+    /**
+     * Blue-noise table sampling (see {@link ApertureSampler#blueNoise()})
+     *
+     * @param pixel  the index of the pixel
+     * @param index  the index of the sample
+     * @param count  amount of samples
+     * @param random random generator
+     * @param point  receives the point on the unit disk
+     */
+    static void blueNoise(long pixel, int index, int count, RandomGenerator random, double[] point) {
+        long hash = mix(pixel);
+        int k = (int) ((index + (hash & 0xFFFF)) % BLUE_NOISE_SIZE);
+        toDisk(shift(BLUE_NOISE[2 * k], hash), shift(BLUE_NOISE[2 * k + 1], hash >>> 32), point);
+    }
+
+    /**
+     * Calculates the radical inverse of an index: its digits in a base, mirrored around the point
+     *
+     * @param index the index
+     * @param base  the base
+     * @return the radical inverse, in [0, 1)
+     */
+    static double radicalInverse(int index, int base) {
+        double inverse = 0, digit = 1d / base;
+        for (int n = index; n > 0; n /= base, digit /= base)
+            inverse += (n % base) * digit;
+        return inverse;
+    }
+
+    /**
+     * Shifts a coordinate by a pseudo-random offset, wrapping around (Cranley-Patterson rotation)
+     *
+     * @param value the coordinate, in [0, 1)
+     * @param hash  the bits of the offset (the low 32 bits are used)
+     * @return the shifted coordinate, in [0, 1)
+     */
+    private static double shift(double value, long hash) {
+        double shifted = value + (hash & 0xFFFFFFFFL) / 4294967296d;
+        return shifted >= 1 ? shifted - 1 : shifted;
+    }
+
+    /**
+     * Random generator of the samples of a seeded render, one per thread
+     */
+    private static final ThreadLocal<SeededRandom> SEEDED = ThreadLocal.withInitial(SeededRandom::new);
+
+    /**
+     * Random generator of the SplitMix64 algorithm that can be seeded again, so the samples of
+     * a seeded render are drawn without allocating a generator per sample. It generates the same
+     * values as a {@link SplittableRandom} constructed by the same seed.
+     */
+    private static final class SeededRandom implements RandomGenerator {
+        /**
+         * The increment of the state (the golden gamma of SplittableRandom)
+         */
+        private static final long GAMMA = 0x9E3779B97F4A7C15L;
+        /**
+         * The state
+         */
+        private long state;
+
+        @Override
+        public long nextLong() {
+            long z = this.state += GAMMA;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /**
+     * Seeds the random generator of the calling thread. The generator is shared by all the
+     * calls of the thread, so it must be used before the next call.
+     *
+     * @param seed the seed
+     * @return the random generator of the thread
+     */
+    static RandomGenerator seeded(long seed) {
+        SeededRandom random = SEEDED.get();
+        random.state = seed;
+        return random;
+    }
+
+    /**
+     * Mixes the bits of a value (the finalizer of SplitMix64)
+     *
+     * @param value the value
+     * @return the mixed bits
+     */
+    static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generates the blue-noise table by Mitchell's best candidate algorithm: every point is the
+     * candidate that is farthest from the points so far (on the torus, so the table tiles)
+     *
+     * @return the points, x and y of every point
+     */
+    private static double[] blueNoiseTable() {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        double[] points = new double[2 * BLUE_NOISE_SIZE];
+        for (int n = 0; n < BLUE_NOISE_SIZE; ++n) {
+            double bestX = 0, bestY = 0, bestDistance = -1;
+            for (int c = 0, candidates = Math.min(BLUE_NOISE_CANDIDATES * n, BLUE_NOISE_SIZE) + 1; c < candidates; ++c) {
+                double x = random.nextDouble(), y = random.nextDouble();
+                double distance = Double.POSITIVE_INFINITY;
+                for (int k = 0; k < n; ++k) {
+                    double dx = Math.abs(x - points[2 * k]), dy = Math.abs(y - points[2 * k + 1]);
+                    dx = Math.min(dx, 1 - dx);
+                    dy = Math.min(dy, 1 - dy);
+                    distance = Math.min(distance, dx * dx + dy * dy);
+                }
+                if (distance > bestDistance) {
+                    bestDistance = distance;
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+            points[2 * n] = bestX;
+            points[2 * n + 1] = bestY;
+        }
+        return points;
+    }
+}
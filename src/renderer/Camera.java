@@ -3,11 +3,21 @@ package renderer;
 import primitives.Color;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Vec3;
 import primitives.Vector;
+import renderer.RenderStatistics.RayType;
 
-import java.util.LinkedList;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
 
 import static primitives.Util.isZero;
 
@@ -69,18 +79,61 @@ public class Camera {
      * The focal length for depth of field effects.
      */
     private double focalDistance = 2;
-
     /**
-     * Pixel manager for supporting:
-     * <ul>
-     * <li>multi-threading</li>
-     * <li>debug print of progress percentage in Console window/tab</li>
-     * <ul>
+     * The standard error of a pixel color (per component) at which adaptive depth of field
+     * sampling stops, 0 if the sampling is not adaptive
+     */
+    private double adaptiveThreshold = 0;
+    /**
+     * Amount of aperture rays added in every batch of adaptive depth of field sampling
      */
+    private int adaptiveBatch = 8;
+    /**
+     * Sampler of the points on the aperture disk
+     */
+    private ApertureSampler apertureSampler = ApertureSampler.random();
+    /**
+     * Seed of the random streams of the pixels, null to draw from the thread random generators
+     */
+    private Long seed = null;
 
-    private PixelManager pixelManager;
+    /**
+     * Listener of the rendering progress, null if reporting is not required
+     */
+    private ProgressListener progressListener = null;
+    /**
+     * Interval of the progress reports in seconds
+     */
+    private double progressInterval = 1;
 
-    private int threadsCount = 4;
+    /**
+     * Amount of rendering threads: 0 to render in the calling thread, -1 for all the available processors
+     */
+    private int threadsCount = -1;
+    /**
+     * The side of a rendered tile in pixels
+     */
+    private int tileSize = 16;
+    /**
+     * The order in which the tiles are rendered
+     */
+    private TileOrder tileOrder = TileOrder.SCANLINE;
+    /**
+     * The checkpoint file of the render, null if checkpoints are not required
+     */
+    private Path checkpointFile = null;
+    /**
+     * Interval of the checkpoints in seconds
+     */
+    private double checkpointInterval = 60;
+    /**
+     * Statistics of the render, null if statistics are not required
+     */
+    private RenderStatistics statistics = null;
+    /**
+     * Costs of the pixels of the render, null if the costs are not required
+     */
+    private CostMap costMap = null;
 
     //=================== Constructors ===================
 
@@ -129,6 +182,52 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Set adaptive depth of field sampling: a pixel is sampled in batches of aperture rays,
+     * and the sampling stops as soon as the standard error of the pixel color (the estimated
+     * deviation of the mean of its samples, per color component) drops to the threshold,
+     * or when the number of rays of the depth of field is reached. Pixels in focus or over
+     * a uniform background, whose samples agree, are done after the first batch.
+     *
+     * @param threshold the standard error of a color component at which the sampling stops
+     *                  (in color units, 0 to 255), 0 to trace all the rays of every pixel
+     * @param batch     amount of aperture rays in a batch
+     * @return updated Camera object
+     */
+    public Camera setAdaptiveDof(double threshold, int batch) {
+        if (threshold < 0) throw new IllegalArgumentException("Adaptive threshold can't be negative");
+        if (batch <= 0) throw new IllegalArgumentException("Adaptive batch must be positive");
+        this.adaptiveThreshold = threshold;
+        this.adaptiveBatch = batch;
+        return this;
+    }
+
+    /**
+     * Set the sampler of the points on the aperture disk that the depth of field rays start from
+     *
+     * @param sampler the sampler (independent random points by default)
+     * @return updated Camera object
+     */
+    public Camera setApertureSampler(ApertureSampler sampler) {
+        if (sampler == null) throw new IllegalArgumentException("Aperture sampler can't be null");
+        this.apertureSampler = sampler;
+        return this;
+    }
+
+    /**
+     * Set deterministic rendering: the random stream of every sample is seeded by the given seed,
+     * the index of the pixel and the index of the sample, so the same scene renders
+     * into the same image bit by bit, regardless of the amount of threads, the tile order or
+     * the tiles that were restored from a checkpoint
+     *
+     * @param seed the seed of the render
+     * @return updated Camera object
+     */
+    public Camera setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
     /**
      * Set the distance of the camera from the view plane.
      *
@@ -162,6 +261,109 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Set the amount of rendering threads
+     *
+     * @param threads amount of threads: 0 to render in the calling thread, -1 for all the available processors
+     * @return updated Camera object
+     */
+    public Camera setMultithreading(int threads) {
+        if (threads < -1) throw new IllegalArgumentException("Multithreading must be -1 or higher");
+        this.threadsCount = threads;
+        return this;
+    }
+
+    /**
+     * Set the side of the tiles the image is rendered by
+     *
+     * @param tileSize the side of a tile in pixels
+     * @return updated Camera object
+     */
+    public Camera setTileSize(int tileSize) {
+        if (tileSize <= 0) throw new IllegalArgumentException("Tile size must be positive");
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    /**
+     * Set the order in which the tiles are rendered
+     *
+     * @param tileOrder the order of the tiles
+     * @return updated Camera object
+     */
+    public Camera setTileOrder(TileOrder tileOrder) {
+        this.tileOrder = tileOrder;
+        return this;
+    }
+
+    /**
+     * Set the listener of the rendering progress. The listener is called from a separate
+     * reporter thread, so it doesn't slow the rendering threads down.
+     *
+     * @param listener listener of the progress, null to stop reporting
+     * @param interval interval of the reports in seconds
+     * @return updated Camera object
+     */
+    public Camera setProgressListener(ProgressListener listener, double interval) {
+        if (interval <= 0) throw new IllegalArgumentException("Progress interval must be positive");
+        this.progressListener = listener;
+        this.progressInterval = interval;
+        return this;
+    }
+
+    /**
+     * Set debug print of the progress percentage in the console
+     *
+     * @param interval interval of the prints in seconds
+     * @return updated Camera object
+     */
+    public Camera setDebugPrint(double interval) {
+        return setProgressListener(ProgressListener.console(), interval);
+    }
+
+    /**
+     * Set checkpoints of the render: the rendered tiles and their pixels are saved to a file
+     * in intervals (and when the render fails). If the file holds a checkpoint of an image of the
+     * same size, the render is resumed, and only the missing tiles are rendered. The file is
+     * deleted when the render is complete.
+     *
+     * @param file     the checkpoint file, null to stop checkpoints
+     * @param interval interval of the checkpoints in seconds
+     * @return updated Camera object
+     */
+    public Camera setCheckpoint(Path file, double interval) {
+        if (interval <= 0) throw new IllegalArgumentException("Checkpoint interval must be positive");
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+        return this;
+    }
+
+    /**
+     * Set the statistics of the render: the rays, the intersection tests and the time of the
+     * render phases of {@link #renderImage()} and {@link #renderAsync(Executor)} are collected
+     * into the given statistics (which are reset when a render starts)
+     *
+     * @param statistics the statistics, null to stop collecting statistics
+     * @return updated Camera object
+     */
+    public Camera setStatistics(RenderStatistics statistics) {
+        this.statistics = statistics;
+        return this;
+    }
+
+    /**
+     * Set the cost map of the render: the time, the rays and the intersection tests of every pixel
+     * rendered by {@link #renderImage()} and {@link #renderAsync(Executor)} are recorded in the
+     * given map (of the size of the image). Measuring every pixel slows the render a little.
+     *
+     * @param costMap the cost map, null to stop recording the costs
+     * @return updated Camera object
+     */
+    public Camera setCostMap(CostMap costMap) {
+        this.costMap = costMap;
+        return this;
+    }
+
     // =================== Functions ===================
 
     /**
@@ -179,12 +381,12 @@ public class Camera {
 
         double yI = -(i - (nY - 1d) / 2) * rY;
         double jX = (j - (nX - 1d) / 2) * rX;
-        Point pIJ = this.p0.add(this.vTo.scale(this.distance));
+        Vec3 pIJ = new Vec3().set(this.p0).addScaled(this.vTo, this.distance);
 
-        if (jX != 0) pIJ = pIJ.add(this.vRight.scale(jX));
-        if (yI != 0) pIJ = pIJ.add(this.vUp.scale(yI));
+        if (jX != 0) pIJ.addScaled(this.vRight, jX);
+        if (yI != 0) pIJ.addScaled(this.vUp, yI);
 
-        return new Ray(this.p0, pIJ.subtract(this.p0));
+        return new Ray(this.p0, pIJ.sub(this.p0).toVector());
     }
 
 
@@ -202,37 +404,52 @@ public class Camera {
         Ray centerRay = constructRay(nX, nY, j, i);
         if (this.numRays <= 1) return List.of(centerRay);
 
-        List<Ray> rays = new LinkedList<>();
+        List<Ray> rays = new ArrayList<>(this.numRays + 1);
         // add the centerRay to the list
         rays.add(centerRay);
         // Center of the apertureSize plane
         Point focalPoint = centerRay.getPoint(this.focalDistance);
         Point pCenter = centerRay.getP0();
-        for (int k = 0; k < this.numRays; k++) {
-            Point pointOnAperture = generatePointOnAperture(pCenter);
-            Vector toFocalPoint = focalPoint.subtract(pointOnAperture).normalize();
-            rays.add(new Ray(pointOnAperture, toFocalPoint));
-        }
+        long pixel = (long) i * nX + j;
+        double[] sample = new double[2];
+        for (int k = 0; k < this.numRays; k++)
+            rays.add(constructApertureRay(pCenter, focalPoint, pixel, k, sample));
         return rays;
     }
 
+    /**
+     * Provides the random generator of a sample: in deterministic rendering a generator that is
+     * seeded by the seed of the render, the index of the pixel and the index of the sample,
+     * otherwise the generator of the current thread
+     *
+     * @param pixel the index of the pixel in the image
+     * @param index the index of the sample in the pixel
+     * @return the random generator
+     */
+    private RandomGenerator sampleRandom(long pixel, int index) {
+        return this.seed == null ? ThreadLocalRandom.current()
+                : ApertureSamplers.seeded(ApertureSamplers.mix(
+                ApertureSamplers.mix(this.seed ^ ApertureSamplers.mix(pixel)) + index));
+    }
 
     /**
-     * Generates a random point on the apertureSize plane for depth of field effects.
-     * contributes to the realistic rendering of the depth of field effect
+     * Constructs a ray from a point on the aperture through a point on the focal plane.
      *
-     * @param pCenter the center point of the apertureSize plane
-     * @return the random point on the apertureSize plane
+     * @param pCenter    the center point of the aperture
+     * @param focalPoint the point on the focal plane
+     * @param pixel      the index of the pixel in the image
+     * @param index      the index of the aperture ray in the pixel
+     * @param sample     array for the sample point on the unit disk
+     * @return the ray
      */
-    private Point generatePointOnAperture(Point pCenter) {
-        /*        double angle = Math.random() * 2 * Math.PI;*/
-        double radius = (this.apertureSize / 2);
-        double x = pCenter.getX() + (Math.random() * this.apertureSize) - radius;
-        double y = pCenter.getY() + (Math.random() * this.apertureSize) - radius;
-        double z = pCenter.getZ() + (Math.random() * this.apertureSize) - radius;
-        if (x > radius + pCenter.getX() || y > radius + pCenter.getY() || z > radius + pCenter.getZ())
-            return generatePointOnAperture(pCenter);
-        return new Point(x, y, z);
+    private Ray constructApertureRay(Point pCenter, Point focalPoint, long pixel, int index, double[] sample) {
+        this.apertureSampler.sample(pixel, index, this.numRays, sampleRandom(pixel, index), sample);
+        double radius = this.apertureSize / 2;
+        Vec3 point = new Vec3().set(pCenter);
+        if (sample[0] != 0) point.addScaled(this.vRight, radius * sample[0]);
+        if (sample[1] != 0) point.addScaled(this.vUp, radius * sample[1]);
+        Point pointOnAperture = point.toPoint();
+        return new Ray(pointOnAperture, focalPoint.subtract(pointOnAperture));
     }
 
     /**
@@ -242,49 +459,254 @@ public class Camera {
      * @return the camera itself
      */
     public Camera renderImage() {
+        Render render = new Render(null);
+        int threads = this.threadsCount == -1 ? Runtime.getRuntime().availableProcessors() : this.threadsCount;
+        try {
+            new TileScheduler(render.nX, render.nY, render.tileSize, this.tileOrder).run(threads, render::renderTile);
+        } catch (Throwable e) {
+            // a failure to save the checkpoint mustn't hide the failure of the render
+            try {
+                render.finish(false);
+            } catch (RuntimeException finishFailure) {
+                e.addSuppressed(finishFailure);
+            }
+            throw e;
+        }
+        render.finish(true);
+        return this;
+    }
+
+    /**
+     * Renders the image asynchronously (see {@link #renderAsync(Executor, TileListener)})
+     *
+     * @param executor the executor that renders the tiles
+     * @return future of the frame buffer of the rendered image
+     */
+    public CompletableFuture<FrameBuffer> renderAsync(Executor executor) {
+        return renderAsync(executor, null);
+    }
+
+    /**
+     * Renders the image asynchronously: every tile is submitted as a task to the given executor
+     * (in the tile order), so renders may run concurrently on separate pools, and the calling
+     * thread returns at once. The future completes with the frame buffer of the image when all
+     * the tiles are rendered, or exceptionally with the failure of a tile; cancelling the future
+     * stops the rendering of the tiles that didn't start yet. Checkpoints and progress reports
+     * are kept as by {@link #renderImage()}.<br/>
+     * The render holds its own state (the image writer, the ray tracer, the image and tile sizes,
+     * the checkpoint and the progress), so the camera may be given another image writer and ray
+     * tracer for another render; the view plane, the depth of field and the scene must not be
+     * changed while it runs.<br/>
+     * Throws UnsupportedOperationException if any of the required resources are missing
+     * (rayTracerBase, imageWriter, width, height, distance).
+     *
+     * @param executor the executor that renders the tiles
+     * @param listener listener of the rendered tiles, null if not required
+     * @return future of the frame buffer of the rendered image
+     */
+    public CompletableFuture<FrameBuffer> renderAsync(Executor executor, TileListener listener) {
+        if (executor == null) throw new IllegalArgumentException("Executor can't be null");
+        Render render = new Render(listener);
+        List<Tile> tiles = new TileScheduler(render.nX, render.nY, render.tileSize, this.tileOrder).getTiles();
+        CompletableFuture<FrameBuffer> future = new CompletableFuture<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger left = new AtomicInteger(tiles.size());
+        Runnable done = () -> {
+            boolean complete = failure.get() == null && !future.isDone();
+            try {
+                render.finish(complete);
+            } catch (RuntimeException e) {
+                if (!failure.compareAndSet(null, e)) failure.get().addSuppressed(e);
+                complete = false;
+            }
+            if (complete) future.complete(render.frameBuffer);
+            else if (failure.get() != null) future.completeExceptionally(failure.get());
+        };
+        for (int k = 0; k < tiles.size(); ++k) {
+            Tile tile = tiles.get(k);
+            try {
+                executor.execute(() -> {
+                    // tiles of a failed or cancelled render are skipped
+                    if (failure.get() == null && !future.isDone()) {
+                        try {
+                            render.renderTile(tile);
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                    if (left.decrementAndGet() == 0) done.run();
+                });
+            } catch (RejectedExecutionException e) {
+                failure.compareAndSet(null, e);
+                if (left.addAndGet(k - tiles.size()) == 0) done.run();
+                break;
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Renders the image progressively, in passes over all the pixels: the first pass traces the
+     * center ray of every pixel, and every following pass traces one more depth of field ray
+     * of every pixel, so the frame buffer holds a complete image after every pass, whose quality
+     * grows with the passes. After the passes of all the depth of field rays (or after the first
+     * pass, without depth of field) the image holds the same samples as {@link #renderImage()}.
+     * The listener is called after every pass, and may take a snapshot of the image or stop
+     * the rendering. Progressive rendering doesn't sample adaptively, and doesn't checkpoint.<br/>
+     * Throws UnsupportedOperationException if any of the required resources are missing
+     * (rayTracerBase, imageWriter, width, height, distance).
+     *
+     * @param listener listener of the passes, null to render all the passes
+     * @return the camera itself
+     */
+    public Camera renderProgressive(PassListener listener) {
+        return renderProgressive(listener, null);
+    }
+
+    /**
+     * Renders the image progressively (see {@link #renderProgressive(PassListener)}) within limits
+     * of time, camera rays and cancellation, so the amount of depth of field samples of the pixels
+     * fits the limits: a pass is started only if the remaining time and rays are expected to suffice
+     * for it (by the duration of the previous pass), and the tiles of a pass are rendered only
+     * while no limit is reached. The rendering returns as soon as a limit is reached, keeping the
+     * image of the samples it traced (pixels that weren't reached by the last pass keep the mean
+     * of the previous passes).
+     *
+     * @param listener listener of the passes, null to render all the passes
+     * @param limits   limits of the rendering, null for an unlimited rendering
+     * @return the camera itself
+     */
+    public Camera renderProgressive(PassListener listener, RenderLimits limits) {
         if (this.tracer == null || this.imageWriter == null || this.width == 0 || this.height == 0 || this.distance == 0)
             throw new UnsupportedOperationException("MissingResourcesException");
         int nX = this.imageWriter.getNx();
         int nY = this.imageWriter.getNy();
-        pixelManager = new PixelManager(nY, nX, 100);
-        if (threadsCount == 0) {
-            for (int i = 0; i < nY; i++)
-                for (int j = 0; j < nX; j++)
-                    castRay(j, i, nX, nY);
-        } else {
-//            var threads = new LinkedList<Thread>(); // list of threads
-//            while (threadsCount-- > 0) // add appropriate number of threads
-//                threads.add(new Thread(() -> { // add a thread with its code
-//                    PixelManager.Pixel pixel; // current pixel(row,col)
-//                    // allocate pixel(row,col) in loop until there are no more pixels
-//                    while ((pixel = pixelManager.nextPixel()) != null)
-//                        // cast ray through pixel (and color it – inside castRay)
-//                         castRay(pixel.col(), pixel.row(), nX, nY);
-//                }));
-//            // start all the threads
-//            for (var thread : threads) thread.start();
-//            // wait until all the threads have finished
-//            try { for (var thread : threads) thread.join(); } catch (InterruptedException ignore) {}
-
-            IntStream.range(0, nY).parallel().forEach(i -> IntStream.range(0, nX).parallel().forEach(j -> castRay(j, i, nX, nY)));
+        FrameBuffer frameBuffer = this.imageWriter.getFrameBuffer();
+        int passes = this.numRays > 1 ? this.numRays + 1 : 1;
+        PixelManager pixelManager = new PixelManager((long) nX * nY * passes, this.progressListener,
+                this.progressInterval);
+        int threads = this.threadsCount == -1 ? Runtime.getRuntime().availableProcessors() : this.threadsCount;
+        TileScheduler scheduler = new TileScheduler(nX, nY, this.tileSize, this.tileOrder);
+        if (limits != null) limits.start();
+        long passNanos = 0;
+        try {
+            for (int pass = 0; pass < passes; ++pass) {
+                // the first pass is rendered as far as the limits allow
+                if (pass > 0 && limits != null && !limits.allowsPass((long) nX * nY, passNanos)) break;
+                long passStart = System.nanoTime();
+                int index = pass;
+                scheduler.run(threads, tile -> {
+                    if (limits != null && !limits.acquire(tile.size())) {
+                        pixelManager.pixelsDone(tile.size());
+                        return;
+                    }
+                    double[] sample = new double[2];
+                    for (int i = tile.y0(); i < tile.y1(); i++)
+                        for (int j = tile.x0(); j < tile.x1(); j++)
+                            castPassRay(j, i, nX, nY, index, frameBuffer, sample);
+                    pixelManager.pixelsDone(tile.size());
+                });
+                passNanos = System.nanoTime() - passStart;
+                if (limits != null && limits.isReached()) break;
+                if (listener != null && !listener.passCompleted(pass + 1, passes, frameBuffer)) break;
+            }
+        } finally {
+            pixelManager.close();
         }
         return this;
     }
 
     /**
-     * Casts ray or rays through the given pixel and color it with the color returned by the ray tracer.
+     * Casts the ray of a pass of progressive rendering through the given pixel, and adds its
+     * color to the mean color of the pixel
      *
-     * @param j  pixel number in X axis
-     * @param i  pixel number in Y axis
-     * @param nX number of pixels in X axis
-     * @param nY number of pixels in Y axis
+     * @param j           pixel number in X axis
+     * @param i           pixel number in Y axis
+     * @param nX          number of pixels in X axis
+     * @param nY          number of pixels in Y axis
+     * @param pass        the pass: 0 for the center ray, otherwise the depth of field ray
+     * @param frameBuffer the mean colors of the pixels
+     * @param sample      array for the sample point on the unit disk
+     */
+    private void castPassRay(int j, int i, int nX, int nY, int pass, FrameBuffer frameBuffer, double[] sample) {
+        Ray ray = constructRay(nX, nY, j, i);
+        if (pass > 0)
+            ray = constructApertureRay(ray.getP0(), ray.getPoint(this.focalDistance), (long) i * nX + j, pass - 1,
+                    sample);
+        RenderStatistics.countRay(pass == 0 ? RayType.CAMERA : RayType.APERTURE);
+        Color color = this.tracer.traceRay(ray);
+        frameBuffer.addSample(j, i, color.getRed(), color.getGreen(), color.getBlue(), pass + 1);
+    }
+
+    /**
+     * Casts ray or rays through the given pixel and calculates the color of the pixel by the colors
+     * returned by the ray tracer.
+     *
+     * @param tracer the ray tracer
+     * @param j      pixel number in X axis
+     * @param i      pixel number in Y axis
+     * @param nX     number of pixels in X axis
+     * @param nY     number of pixels in Y axis
+     * @return the color of the pixel
+     */
+    private Color castRay(RayTracerBase tracer, int j, int i, int nX, int nY) {
+        if (this.adaptiveThreshold > 0 && this.numRays > 1) return castAdaptiveRays(tracer, j, i, nX, nY);
+        List<Ray> rays = constructRaysWithDOF(nX, nY, j, i);
+        double r = 0, g = 0, b = 0;
+        for (Ray ray : rays) {
+            Color color = tracer.traceRay(ray);
+            r += color.getRed();
+            g += color.getGreen();
+            b += color.getBlue();
+        }
+        int size = rays.size();
+        RenderStatistics.countRay(RayType.CAMERA);
+        RenderStatistics.countRays(RayType.APERTURE, size - 1);
+        return new Color(r / size, g / size, b / size);
+    }
+
+    /**
+     * Casts rays through the given pixel in batches of aperture rays, until the standard error of
+     * the pixel color drops to the adaptive threshold or all the depth of field rays are traced,
+     * and calculates the mean color of the rays.
+     * The mean and the variance of the colors are updated incrementally (Welford's algorithm).
+     *
+     * @param tracer the ray tracer
+     * @param j      pixel number in X axis
+     * @param i      pixel number in Y axis
+     * @param nX     number of pixels in X axis
+     * @param nY     number of pixels in Y axis
+     * @return the color of the pixel
      */
-    private void castRay(int j, int i, int nX, int nY) {
-        List<Color> colors = new LinkedList<>();
-        for (Ray ray : constructRaysWithDOF(nX, nY, j, i))
-            colors.add(this.tracer.traceRay(ray));
-        this.imageWriter.writePixel(j, i, Color.average(colors));
-        pixelManager.pixelDone();
+    private Color castAdaptiveRays(RayTracerBase tracer, int j, int i, int nX, int nY) {
+        Ray centerRay = constructRay(nX, nY, j, i);
+        Point focalPoint = centerRay.getPoint(this.focalDistance);
+        Point pCenter = centerRay.getP0();
+        int maxRays = this.numRays + 1;
+        double[] mean = new double[3];
+        double[] m2 = new double[3]; // sums of the squared differences from the mean
+        long pixel = (long) i * nX + j;
+        double[] point = new double[2];
+        int n = 0;
+        while (true) {
+            for (int end = Math.min(maxRays, n + this.adaptiveBatch + (n == 0 ? 1 : 0)); n < end; ) {
+                Color color = tracer.traceRay(n == 0 ? centerRay
+                        : constructApertureRay(pCenter, focalPoint, pixel, n - 1, point));
+                RenderStatistics.countRay(n == 0 ? RayType.CAMERA : RayType.APERTURE);
+                ++n;
+                double[] sample = {color.getRed(), color.getGreen(), color.getBlue()};
+                for (int c = 0; c < 3; ++c) {
+                    double delta = sample[c] - mean[c];
+                    mean[c] += delta / n;
+                    m2[c] += delta * (sample[c] - mean[c]);
+                }
+            }
+            if (n >= maxRays) break;
+            // the variance of the mean of n samples is the sample variance divided by n
+            double maxM2 = Math.max(m2[0], Math.max(m2[1], m2[2]));
+            if (maxM2 / (n - 1) / n <= this.adaptiveThreshold * this.adaptiveThreshold) break;
+        }
+        return new Color(mean[0], mean[1], mean[2]);
     }
 
     /**
@@ -314,5 +736,178 @@ public class Camera {
         this.imageWriter.writeToImage();
     }
 
+    /**
+     * The state of a single render of the whole image by tiles: its image writer, sizes,
+     * checkpoint and progress, which are taken from the camera when the render starts
+     */
+    private class Render {
+        /**
+         * The image writer of the render
+         */
+        private final ImageWriter imageWriter;
+        /**
+         * The ray tracer of the render
+         */
+        private final RayTracerBase tracer;
+        /**
+         * The frame buffer of the image
+         */
+        private final FrameBuffer frameBuffer;
+        /**
+         * The image size in pixels
+         */
+        private final int nX, nY;
+        /**
+         * The side of a tile in pixels
+         */
+        private final int tileSize;
+        /**
+         * The checkpoint of the render, null if checkpoints are not required
+         */
+        private final Checkpoint checkpoint;
+        /**
+         * The progress of the render
+         */
+        private final PixelManager pixelManager;
+        /**
+         * The tiles left in every band of tile rows, so the writer can encode completed bands
+         */
+        private final AtomicIntegerArray bandTiles;
+        /**
+         * Listener of the rendered tiles, null if not required
+         */
+        private final TileListener listener;
+        /**
+         * Statistics of the render, null if not required
+         */
+        private final RenderStatistics statistics;
+        /**
+         * The time the rendering of the tiles started, in nanoseconds
+         */
+        private final long tilesStart;
+        /**
+         * Costs of the pixels of the render, null if not required
+         */
+        private final CostMap costMap;
+
+        /**
+         * Starts a render: takes the settings of the camera, and restores the checkpoint.<br/>
+         * Throws UnsupportedOperationException if any of the required resources are missing
+         * (rayTracerBase, imageWriter, width, height, distance).
+         *
+         * @param listener listener of the rendered tiles, null if not required
+         */
+        Render(TileListener listener) {
+            if (Camera.this.tracer == null || Camera.this.imageWriter == null || width == 0 || height == 0 || distance == 0)
+                throw new UnsupportedOperationException("MissingResourcesException");
+            long start = System.nanoTime();
+            this.statistics = Camera.this.statistics;
+            if (this.statistics != null) this.statistics.reset();
+            this.costMap = Camera.this.costMap;
+            this.listener = listener;
+            this.imageWriter = Camera.this.imageWriter;
+            this.tracer = Camera.this.tracer;
+            this.frameBuffer = this.imageWriter.getFrameBuffer();
+            this.nX = this.imageWriter.getNx();
+            this.nY = this.imageWriter.getNy();
+            if (this.costMap != null && (this.costMap.getWidth() != this.nX || this.costMap.getHeight() != this.nY))
+                throw new IllegalArgumentException("Cost map size must match the image size");
+            this.tileSize = Camera.this.tileSize;
+            this.checkpoint = checkpointFile == null ? null
+                    : new Checkpoint(checkpointFile, checkpointInterval, this.nX, this.nY, this.tileSize);
+            if (this.checkpoint != null) this.checkpoint.restore(this.frameBuffer);
+            int cols = (this.nX + this.tileSize - 1) / this.tileSize;
+            this.bandTiles = new AtomicIntegerArray((this.nY + this.tileSize - 1) / this.tileSize);
+            for (int band = 0; band < this.bandTiles.length(); ++band) this.bandTiles.set(band, cols);
+            this.pixelManager = new PixelManager((long) this.nX * this.nY, progressListener, progressInterval);
+            this.tilesStart = System.nanoTime();
+            if (this.statistics != null) this.statistics.addTime(RenderStatistics.Phase.SETUP, this.tilesStart - start);
+        }
+
+        /**
+         * Renders a tile
+         *
+         * @param tile the tile
+         */
+        void renderTile(Tile tile) {
+            // tiles restored from the checkpoint are only accounted for
+            if (this.checkpoint == null || !this.checkpoint.isDone(tile)) {
+                TileEvent event = new TileEvent();
+                boolean counting = this.statistics != null || this.costMap != null || event.isEnabled();
+                long start = System.nanoTime();
+                event.begin();
+                RenderStatistics.TileCounters tileCounters = counting ? RenderStatistics.startTile() : null;
+                try {
+                    castPixels(tile, tileCounters);
+                } finally {
+                    if (counting) {
+                        RenderStatistics.TileCounters counters = RenderStatistics.stopTile();
+                        if (this.statistics != null) this.statistics.addTile(counters, System.nanoTime() - start);
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.index = tile.index();
+                            event.x = tile.x0();
+                            event.y = tile.y0();
+                            event.pixels = tile.size();
+                            event.cameraRays = counters.rays(RayType.CAMERA);
+                            event.apertureRays = counters.rays(RayType.APERTURE);
+                            event.shadowRays = counters.rays(RayType.SHADOW);
+                            event.secondaryRays = counters.rays(RayType.REFLECTED) + counters.rays(RayType.REFRACTED);
+                            event.intersectionTests = counters.intersections().getTotalTests();
+                            event.commit();
+                        }
+                    }
+                }
+                if (this.checkpoint != null) this.checkpoint.tileDone(tile, this.frameBuffer);
+            }
+            this.pixelManager.pixelsDone(tile.size());
+            if (this.listener != null) this.listener.tileCompleted(tile, this.frameBuffer);
+            if (this.bandTiles.decrementAndGet(tile.y0() / this.tileSize) == 0)
+                this.imageWriter.rowsCompleted(tile.y0(), tile.y1());
+        }
 
+        /**
+         * Casts the rays of the pixels of a tile, and records the costs of the pixels if required
+         *
+         * @param tile     the tile
+         * @param counters the counters of the tile, null if the tile isn't counted
+         */
+        private void castPixels(Tile tile, RenderStatistics.TileCounters counters) {
+            for (int i = tile.y0(); i < tile.y1(); i++)
+                for (int j = tile.x0(); j < tile.x1(); j++) {
+                    if (this.costMap == null) {
+                        this.imageWriter.writePixel(j, i, castRay(this.tracer, j, i, this.nX, this.nY));
+                        continue;
+                    }
+                    long rays = counters.totalRays(), tests = counters.intersections().getTotalTests();
+                    long start = System.nanoTime();
+                    this.imageWriter.writePixel(j, i, castRay(this.tracer, j, i, this.nX, this.nY));
+                    this.costMap.set(j, i, System.nanoTime() - start, counters.totalRays() - rays,
+                            counters.intersections().getTotalTests() - tests);
+                }
+        }
+
+        /**
+         * Ends the render: stops the progress reports, and deletes the checkpoint of a complete
+         * render or saves the checkpoint of an incomplete one and aborts its image writer
+         *
+         * @param complete whether all the tiles were rendered
+         */
+        void finish(boolean complete) {
+            long start = System.nanoTime();
+            try {
+                this.pixelManager.close();
+                if (this.checkpoint != null) {
+                    if (complete) this.checkpoint.delete();
+                    else this.checkpoint.save(this.frameBuffer);
+                }
+            } finally {
+                if (!complete) this.imageWriter.abort();
+                if (this.statistics != null) {
+                    this.statistics.addTime(RenderStatistics.Phase.TILES, start - this.tilesStart);
+                    this.statistics.addTime(RenderStatistics.Phase.FINISH, System.nanoTime() - start);
+                }
+            }
+        }
+    }
 }
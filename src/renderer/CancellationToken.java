@@ -0,0 +1,28 @@
+package renderer;
+
+/**
+ * Token for cancelling a rendering from another thread. The rendering checks the token
+ * between tiles, so it stops shortly after it's cancelled, keeping the image it reached.
+ *
+ * @author Avidan and Ziv
+ */
+public class CancellationToken {
+    /**
+     * Whether the rendering was cancelled
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Cancels the rendering
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true if the rendering was cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
@@ -0,0 +1,266 @@
+package renderer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checkpoint is a helper class of the Camera. It records the tiles that were rendered, and
+ * saves them with their pixels to a file in intervals, so an interrupted render can be resumed
+ * by rendering only the missing tiles.<br/>
+ * A checkpoint is written to a temporary file that atomically replaces the previous one,
+ * so the file always holds a complete checkpoint. The file holds the image and tile sizes,
+ * the set of the rendered tiles and the pixels of these tiles (tile by tile); a checkpoint
+ * of another image or tile size is ignored. The scene isn't recorded, so a render must be
+ * resumed with the scene it was started with.
+ *
+ * @author Avidan and Ziv
+ */
+class Checkpoint {
+    /**
+     * Identifies a checkpoint file
+     */
+    private static final int MAGIC = 0x52544350;
+    /**
+     * Size of the buffer the file is written and read by
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The checkpoint file
+     */
+    private final Path file;
+    /**
+     * The image and tile sizes
+     */
+    private final int nX, nY, tileSize;
+    /**
+     * The tile grid columns
+     */
+    private final int cols;
+    /**
+     * The rendered tiles, by their index
+     */
+    private final BitSet done = new BitSet();
+    /**
+     * Interval of the checkpoints in milliseconds
+     */
+    private final long interval;
+    /**
+     * The time of the next checkpoint in milliseconds
+     */
+    private final AtomicLong next;
+
+    /**
+     * Constructs a checkpoint of a render
+     *
+     * @param file     the checkpoint file
+     * @param interval interval of the checkpoints in seconds
+     * @param nX       amount of pixel columns
+     * @param nY       amount of pixel rows
+     * @param tileSize the side of a tile in pixels
+     */
+    Checkpoint(Path file, double interval, int nX, int nY, int tileSize) {
+        this.file = file;
+        this.interval = Math.max(1, (long) (interval * 1000));
+        this.next = new AtomicLong(System.currentTimeMillis() + this.interval);
+        this.nX = nX;
+        this.nY = nY;
+        this.tileSize = tileSize;
+        this.cols = (nX + tileSize - 1) / tileSize;
+    }
+
+    /**
+     * Restores the rendered tiles and their pixels from the checkpoint file, if there is one
+     * of the same image and tile sizes
+     *
+     * @param frameBuffer receives the pixels of the rendered tiles
+     * @return amount of restored pixels
+     * @throws IllegalStateException if the file can't be read
+     */
+    long restore(FrameBuffer frameBuffer) {
+        if (!Files.exists(this.file)) return 0;
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.limit(0);
+            if (readInt(channel, buffer) != MAGIC || readInt(channel, buffer) != this.nX
+                    || readInt(channel, buffer) != this.nY || readInt(channel, buffer) != this.tileSize)
+                return 0;
+            long[] words = new long[readInt(channel, buffer)];
+            for (int i = 0; i < words.length; ++i) {
+                fill(channel, buffer, Long.BYTES);
+                words[i] = buffer.getLong();
+            }
+            BitSet restored = BitSet.valueOf(words);
+            long pixels = 0;
+            for (int index = restored.nextSetBit(0); index >= 0; index = restored.nextSetBit(index + 1)) {
+                Tile tile = tile(index);
+                for (int y = tile.y0(); y < tile.y1(); ++y)
+                    for (int x = tile.x0(); x < tile.x1(); ++x) {
+                        fill(channel, buffer, 3 * Float.BYTES);
+                        frameBuffer.set(x, y, buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+                    }
+                pixels += tile.size();
+            }
+            synchronized (this.done) {
+                this.done.or(restored);
+            }
+            return pixels;
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't read checkpoint " + this.file, e);
+        }
+    }
+
+    /**
+     * Checks whether a tile was rendered
+     *
+     * @param tile the tile
+     * @return true if the tile was rendered
+     */
+    boolean isDone(Tile tile) {
+        synchronized (this.done) {
+            return this.done.get(tile.index());
+        }
+    }
+
+    /**
+     * Records a rendered tile, and saves a checkpoint if it's due. The checkpoint is saved
+     * by the calling thread, other threads go on rendering.
+     *
+     * @param tile        the rendered tile, with its final pixels in the frame buffer
+     * @param frameBuffer the pixels
+     */
+    void tileDone(Tile tile, FrameBuffer frameBuffer) {
+        synchronized (this.done) {
+            this.done.set(tile.index());
+        }
+        long now = System.currentTimeMillis();
+        long due = this.next.get();
+        if (now >= due && this.next.compareAndSet(due, now + this.interval)) save(frameBuffer);
+    }
+
+    /**
+     * Saves the rendered tiles and their pixels to a temporary file, and atomically moves it
+     * over the checkpoint file
+     *
+     * @param frameBuffer the pixels
+     * @throws IllegalStateException if the file can't be written
+     */
+    void save(FrameBuffer frameBuffer) {
+        BitSet tiles;
+        synchronized (this.done) {
+            tiles = (BitSet) this.done.clone();
+        }
+        CheckpointEvent event = new CheckpointEvent();
+        event.begin();
+        // concurrent saves don't share the temporary file
+        Path temp = this.file.resolveSibling(this.file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                long[] words = tiles.toLongArray();
+                buffer.putInt(MAGIC).putInt(this.nX).putInt(this.nY).putInt(this.tileSize).putInt(words.length);
+                for (long word : words) {
+                    flush(channel, buffer, Long.BYTES);
+                    buffer.putLong(word);
+                }
+                for (int index = tiles.nextSetBit(0); index >= 0; index = tiles.nextSetBit(index + 1)) {
+                    Tile tile = tile(index);
+                    for (int y = tile.y0(); y < tile.y1(); ++y)
+                        for (int x = tile.x0(); x < tile.x1(); ++x) {
+                            flush(channel, buffer, 3 * Float.BYTES);
+                            for (int c = 0; c < 3; ++c) buffer.putFloat(frameBuffer.get(x, y, c));
+                        }
+                }
+                flush(channel, buffer, BUFFER_SIZE);
+                channel.force(false);
+                event.bytes = channel.position();
+            }
+            Files.move(temp, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = this.file.toString();
+                event.tiles = tiles.cardinality();
+                event.commit();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't write checkpoint " + this.file, e);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file (e.g. when the render is complete)
+     *
+     * @throws IllegalStateException if the file can't be deleted
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(this.file);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't delete checkpoint " + this.file, e);
+        }
+    }
+
+    /**
+     * Finds a tile of the tile grid by its index
+     *
+     * @param index the index of the tile
+     * @return the tile
+     */
+    private Tile tile(int index) {
+        int x0 = index % this.cols * this.tileSize, y0 = index / this.cols * this.tileSize;
+        if (y0 >= this.nY) throw new IllegalStateException("Checkpoint has a tile out of the image " + this.file);
+        return new Tile(index, x0, y0, Math.min(this.nX, x0 + this.tileSize), Math.min(this.nY, y0 + this.tileSize));
+    }
+
+    /**
+     * Writes the buffer to the file if it doesn't have room for more values
+     *
+     * @param channel the file
+     * @param buffer  the buffer
+     * @param bytes   size of the values that are about to be put in the buffer
+     * @throws IOException if the file can't be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes && bytes < BUFFER_SIZE) return;
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Reads the file into the buffer if the buffer doesn't hold enough values
+     *
+     * @param channel the file
+     * @param buffer  the buffer
+     * @param bytes   size of the values that are about to be taken from the buffer
+     * @throws IOException if the file can't be read or is too short
+     */
+    private void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        while (buffer.position() < bytes)
+            if (channel.read(buffer) < 0) throw new IOException("Checkpoint is truncated " + this.file);
+        buffer.flip();
+    }
+
+    /**
+     * Reads an int from the file
+     *
+     * @param channel the file
+     * @param buffer  the buffer
+     * @return the int
+     * @throws IOException if the file can't be read or is too short
+     */
+    private int readInt(FileChannel channel, ByteBuffer buffer) throws IOException {
+        fill(channel, buffer, Integer.BYTES);
+        return buffer.getInt();
+    }
+}
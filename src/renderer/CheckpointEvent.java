@@ -0,0 +1,36 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the writing of a checkpoint
+ *
+ * @author Avidan and Ziv
+ */
+@Name("raytracer.Checkpoint")
+@Label("Checkpoint Write")
+@Category({"Ray Tracer", "Render"})
+@Description("Writing of the rendered tiles to the checkpoint file")
+class CheckpointEvent extends Event {
+    /**
+     * The checkpoint file
+     */
+    @Label("File")
+    String file;
+    /**
+     * Amount of rendered tiles in the checkpoint
+     */
+    @Label("Tiles")
+    int tiles;
+    /**
+     * Size of the checkpoint
+     */
+    @Label("Size")
+    @DataAmount
+    long bytes;
+}
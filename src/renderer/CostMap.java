@@ -0,0 +1,118 @@
+package renderer;
+
+/**
+ * CostMap is an extra output of a render (an AOV): it records the cost of every pixel, that is the
+ * time it took to render the pixel, the rays that were traced for it (camera, depth of field,
+ * shadow, reflected and refracted rays) and the intersection tests of geometries, so the parts
+ * of the scene that dominate a frame can be spotted. A metric of the map is written out as a
+ * false-color image through an {@link ImageWriter} (see {@link #toImageWriter}).
+ *
+ * @author Avidan and Ziv
+ */
+public class CostMap {
+    /**
+     * Cost metrics of a pixel
+     */
+    public enum Metric {
+        /**
+         * Render time in nanoseconds
+         */
+        NANOS,
+        /**
+         * Traced rays
+         */
+        RAYS,
+        /**
+         * Intersection tests
+         */
+        TESTS
+    }
+
+    /**
+     * Colors of the false-color ramp, from the cheapest pixels to the most expensive ones
+     */
+    private static final double[][] RAMP = {
+            {0, 0, 0}, {0, 0, 255}, {255, 0, 0}, {255, 255, 0}, {255, 255, 255}};
+
+    /**
+     * The costs of the pixels, a metric per channel
+     */
+    private final FrameBuffer costs;
+
+    /**
+     * Constructs an empty cost map
+     *
+     * @param width  amount of pixel columns
+     * @param height amount of pixel rows
+     */
+    public CostMap(int width, int height) {
+        this.costs = new FrameBuffer(width, height);
+    }
+
+    /**
+     * @return amount of pixel columns
+     */
+    public int getWidth() {
+        return this.costs.getWidth();
+    }
+
+    /**
+     * @return amount of pixel rows
+     */
+    public int getHeight() {
+        return this.costs.getHeight();
+    }
+
+    /**
+     * Getter for a cost of a pixel
+     *
+     * @param x      the column of the pixel
+     * @param y      the row of the pixel
+     * @param metric the metric of the cost
+     * @return the cost
+     */
+    public double get(int x, int y, Metric metric) {
+        return this.costs.get(x, y, metric.ordinal());
+    }
+
+    /**
+     * Sets the costs of a pixel
+     *
+     * @param x     the column of the pixel
+     * @param y     the row of the pixel
+     * @param nanos render time in nanoseconds
+     * @param rays  amount of traced rays
+     * @param tests amount of intersection tests
+     */
+    void set(int x, int y, long nanos, long rays, long tests) {
+        this.costs.set(x, y, nanos, rays, tests);
+    }
+
+    /**
+     * Creates an image writer of a false-color image of a metric: the costs are scaled by the
+     * highest cost of the map, and colored from black (no cost) through blue, red and yellow
+     * to white (the highest cost)
+     *
+     * @param imageName the name of the image file
+     * @param metric    the metric of the image
+     * @return the image writer, whose frame buffer holds the false-color image
+     */
+    public ImageWriter toImageWriter(String imageName, Metric metric) {
+        int width = getWidth(), height = getHeight();
+        double max = 0;
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x) max = Math.max(max, get(x, y, metric));
+        ImageWriter imageWriter = new ImageWriter(imageName, width, height);
+        FrameBuffer image = imageWriter.getFrameBuffer();
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x) {
+                double t = max == 0 ? 0 : get(x, y, metric) / max * (RAMP.length - 1);
+                int i = Math.min((int) t, RAMP.length - 2);
+                double f = t - i;
+                double[] from = RAMP[i], to = RAMP[i + 1];
+                image.set(x, y, from[0] + f * (to[0] - from[0]), from[1] + f * (to[1] - from[1]),
+                        from[2] + f * (to[2] - from[2]));
+            }
+        return imageWriter;
+    }
+}
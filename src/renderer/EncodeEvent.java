@@ -0,0 +1,40 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the encoding of an image into its file (for a streaming image writer,
+ * of the rows that are left and the completion of the file)
+ *
+ * @author Avidan and Ziv
+ */
+@Name("raytracer.Encode")
+@Label("Image Encode")
+@Category({"Ray Tracer", "Output"})
+@Description("Encoding of an image into its file")
+class EncodeEvent extends Event {
+    /**
+     * Name of the image
+     */
+    @Label("Image")
+    String image;
+    /**
+     * Format of the image file
+     */
+    @Label("Format")
+    String format;
+    /**
+     * Amount of pixel columns
+     */
+    @Label("Width")
+    int width;
+    /**
+     * Amount of pixel rows
+     */
+    @Label("Height")
+    int height;
+}
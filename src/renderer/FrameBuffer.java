@@ -0,0 +1,320 @@
+package renderer;
+
+import primitives.Color;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * FrameBuffer class holds the color of every pixel of an image as three floats (red, green, blue),
+ * without clamping them, so colors are accumulated in full precision and converted to 8 bits only
+ * once, when the image is encoded.<br/>
+ * The components are kept row by row in float buffers of up to 1GB (segments of whole rows),
+ * either on the heap, off-heap (direct buffers, which aren't moved or scanned by the garbage
+ * collector), or in a memory-mapped file, for images that are larger than the memory.
+ * Every pixel is written by a single thread at a time (e.g. the one rendering its tile),
+ * so the buffer is written without locks.
+ *
+ * @author Avidan and Ziv
+ */
+public class FrameBuffer {
+    /**
+     * Largest size of a segment in bytes
+     */
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    /**
+     * Amount of pixel columns
+     */
+    private final int width;
+    /**
+     * Amount of pixel rows
+     */
+    private final int height;
+    /**
+     * Amount of pixel rows in a segment
+     */
+    private final int segmentRows;
+    /**
+     * Color components, three per pixel, row by row, in segments of {@link #segmentRows} rows
+     */
+    private final FloatBuffer[] segments;
+    /**
+     * The mapped file regions of the segments, null if the frame buffer isn't memory-mapped
+     */
+    private final MappedByteBuffer[] mapped;
+
+    /**
+     * Constructs a frame buffer on the heap
+     *
+     * @param width  amount of pixel columns
+     * @param height amount of pixel rows
+     */
+    public FrameBuffer(int width, int height) {
+        this(width, height, false);
+        for (int segment = 0; segment < this.segments.length; ++segment)
+            this.segments[segment] = FloatBuffer.allocate(segmentFloats(segment));
+    }
+
+    /**
+     * Constructs a frame buffer whose segments are yet to be created
+     *
+     * @param width  amount of pixel columns
+     * @param height amount of pixel rows
+     * @param mapped whether the segments are mapped file regions
+     */
+    private FrameBuffer(int width, int height, boolean mapped) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Frame buffer size must be positive");
+        if (12L * width > SEGMENT_BYTES) throw new IllegalArgumentException("Frame buffer row is too large");
+        this.width = width;
+        this.height = height;
+        this.segmentRows = Math.min(height, SEGMENT_BYTES / (12 * width));
+        this.segments = new FloatBuffer[(height + this.segmentRows - 1) / this.segmentRows];
+        this.mapped = mapped ? new MappedByteBuffer[this.segments.length] : null;
+    }
+
+    /**
+     * Constructs a frame buffer off-heap, in direct buffers
+     *
+     * @param width  amount of pixel columns
+     * @param height amount of pixel rows
+     * @return the frame buffer
+     */
+    public static FrameBuffer allocateDirect(int width, int height) {
+        FrameBuffer frameBuffer = new FrameBuffer(width, height, false);
+        for (int segment = 0; segment < frameBuffer.segments.length; ++segment)
+            frameBuffer.segments[segment] = ByteBuffer.allocateDirect(frameBuffer.segmentFloats(segment) * Float.BYTES)
+                    .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        return frameBuffer;
+    }
+
+    /**
+     * Constructs a frame buffer in a memory-mapped file, so the image isn't limited by the memory:
+     * the pixels are written straight into the pages of the file, which the operating system
+     * writes back to the disk. The file holds the floats of the pixels row by row, in the native
+     * byte order. An existing file of the same size keeps its pixels (e.g. of an interrupted render),
+     * any other file is resized and cleared.
+     *
+     * @param file   the file
+     * @param width  amount of pixel columns
+     * @param height amount of pixel rows
+     * @return the frame buffer
+     * @throws IllegalStateException if the file can't be mapped
+     */
+    public static FrameBuffer map(Path file, int width, int height) {
+        FrameBuffer frameBuffer = new FrameBuffer(width, height, true);
+        MappedByteBuffer[] mapped = frameBuffer.mapped;
+        long size = 12L * width * height;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() != size) {
+                channel.truncate(0);
+                // writing the last byte extends the file with zeros (sparse, where supported)
+                channel.write(ByteBuffer.allocate(1), size - 1);
+            }
+            long segmentBytes = 12L * width * frameBuffer.segmentRows;
+            for (int segment = 0; segment < mapped.length; ++segment) {
+                mapped[segment] = channel.map(FileChannel.MapMode.READ_WRITE, segmentBytes * segment,
+                        (long) frameBuffer.segmentFloats(segment) * Float.BYTES);
+                frameBuffer.segments[segment] = mapped[segment].order(ByteOrder.nativeOrder()).asFloatBuffer();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't map " + file, e);
+        }
+        return frameBuffer;
+    }
+
+    /**
+     * Calculates the amount of floats of a segment
+     *
+     * @param segment the index of the segment
+     * @return three floats per pixel of the rows of the segment
+     */
+    private int segmentFloats(int segment) {
+        return 3 * this.width * Math.min(this.segmentRows, this.height - segment * this.segmentRows);
+    }
+
+    /**
+     * @return amount of pixel columns
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return amount of pixel rows
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @return true if the components are kept off-heap (in direct buffers or in a mapped file)
+     */
+    public boolean isDirect() {
+        return this.segments[0].isDirect();
+    }
+
+    /**
+     * @return true if the components are kept in a memory-mapped file
+     */
+    public boolean isMapped() {
+        return this.mapped != null;
+    }
+
+    /**
+     * Writes the pixels of a memory-mapped frame buffer back to its file, and waits for the
+     * writes to complete. Does nothing for a frame buffer that isn't memory-mapped.
+     */
+    public void force() {
+        if (this.mapped != null)
+            for (MappedByteBuffer segment : this.mapped) segment.force();
+    }
+
+    /**
+     * Finds the segment of a row
+     *
+     * @param y the row
+     * @return the segment
+     */
+    private FloatBuffer segment(int y) {
+        return this.segments[y / this.segmentRows];
+    }
+
+    /**
+     * Calculates the position of the red component of a pixel in its segment
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the position in the segment
+     */
+    private int index(int x, int y) {
+        return 3 * (y % this.segmentRows * this.width + x);
+    }
+
+    /**
+     * Sets the color of a pixel
+     *
+     * @param x     the column of the pixel
+     * @param y     the row of the pixel
+     * @param color the color
+     */
+    public void set(int x, int y, Color color) {
+        set(x, y, color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    /**
+     * Sets the color of a pixel
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @param r the red component
+     * @param g the green component
+     * @param b the blue component
+     */
+    public void set(int x, int y, double r, double g, double b) {
+        FloatBuffer data = segment(y);
+        int i = index(x, y);
+        data.put(i, (float) r);
+        data.put(i + 1, (float) g);
+        data.put(i + 2, (float) b);
+    }
+
+    /**
+     * Adds a color to a pixel
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @param r the red component to add
+     * @param g the green component to add
+     * @param b the blue component to add
+     */
+    public void add(int x, int y, double r, double g, double b) {
+        FloatBuffer data = segment(y);
+        int i = index(x, y);
+        data.put(i, (float) (data.get(i) + r));
+        data.put(i + 1, (float) (data.get(i + 1) + g));
+        data.put(i + 2, (float) (data.get(i + 2) + b));
+    }
+
+    /**
+     * Adds a sample to the running mean color of a pixel (e.g. in progressive rendering).
+     * The first sample replaces the color of the pixel.
+     *
+     * @param x     the column of the pixel
+     * @param y     the row of the pixel
+     * @param r     the red component of the sample
+     * @param g     the green component of the sample
+     * @param b     the blue component of the sample
+     * @param count amount of samples of the pixel, including the added one
+     */
+    public void addSample(int x, int y, double r, double g, double b, int count) {
+        if (count <= 1) {
+            set(x, y, r, g, b);
+            return;
+        }
+        FloatBuffer data = segment(y);
+        int i = index(x, y);
+        data.put(i, (float) (data.get(i) + (r - data.get(i)) / count));
+        data.put(i + 1, (float) (data.get(i + 1) + (g - data.get(i + 1)) / count));
+        data.put(i + 2, (float) (data.get(i + 2) + (b - data.get(i + 2)) / count));
+    }
+
+    /**
+     * Getter for the color of a pixel
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the color
+     */
+    public Color get(int x, int y) {
+        FloatBuffer data = segment(y);
+        int i = index(x, y);
+        return new Color(data.get(i), data.get(i + 1), data.get(i + 2));
+    }
+
+    /**
+     * Getter for a component of a pixel
+     *
+     * @param x       the column of the pixel
+     * @param y       the row of the pixel
+     * @param channel the component: 0 red, 1 green, 2 blue
+     * @return the component
+     */
+    public float get(int x, int y, int channel) {
+        return segment(y).get(index(x, y) + channel);
+    }
+
+    /**
+     * Converts a row into packed 8 bit RGB values
+     *
+     * @param y       the row
+     * @param mapping the conversion of the components
+     * @param pixels  receives the packed values of the row
+     * @param offset  the position of the first value of the row in the array
+     */
+    public void toneMapRow(int y, ToneMapping mapping, int[] pixels, int offset) {
+        FloatBuffer data = segment(y);
+        for (int x = 0, i = index(0, y); x < this.width; ++x, i += 3)
+            pixels[offset + x] = mapping.map(data.get(i)) << 16
+                    | mapping.map(data.get(i + 1)) << 8
+                    | mapping.map(data.get(i + 2));
+    }
+
+    /**
+     * Converts the whole frame into packed 8 bit RGB values, row by row, in parallel
+     *
+     * @param mapping the conversion of the components
+     * @param pixels  receives the packed values, row by row
+     */
+    public void toneMap(ToneMapping mapping, int[] pixels) {
+        IntStream.range(0, this.height).parallel().forEach(y -> toneMapRow(y, mapping, pixels, y * this.width));
+    }
+}
@@ -4,6 +4,7 @@ import primitives.Color;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.util.logging.Level;
@@ -13,7 +14,9 @@ import java.util.logging.Logger;
  * Image writer class combines accumulation of pixel color matrix and finally
  * producing a non-optimized jpeg image from this matrix. The class although is
  * responsible for holding image related parameters of View Plane - pixel matrix
- * size and resolution
+ * size and resolution<br/>
+ * The colors are accumulated in a {@link FrameBuffer} in full precision, and are
+ * converted to 8 bits in a single parallel pass when the image is written
  *
  * @author Dan
  */
@@ -30,12 +33,16 @@ public class ImageWriter {
     /**
      * Image file path
      */
-    private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
+    static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
 
     /**
-     * Image file
+     * Pixel colors
      */
-    private final BufferedImage image;
+    private final FrameBuffer frameBuffer;
+    /**
+     * Conversion of the colors into 8 bits
+     */
+    private ToneMapping toneMapping = ToneMapping.CLAMP;
     /**
      * Image file name
      */
@@ -56,11 +63,21 @@ public class ImageWriter {
      * @param nY        amount of pixels by height
      */
     public ImageWriter(String imageName, int nX, int nY) {
-        this.imageName = imageName;
-        this.nX = nX;
-        this.nY = nY;
+        this(imageName, new FrameBuffer(nX, nY));
+    }
 
-        this.image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+    /**
+     * Image Writer constructor accepting image name and the frame buffer of the pixels
+     * (e.g. an off-heap one)
+     *
+     * @param imageName   the name of jpeg file
+     * @param frameBuffer the pixel colors, its size is the View Plane resolution
+     */
+    public ImageWriter(String imageName, FrameBuffer frameBuffer) {
+        this.imageName = imageName;
+        this.nX = frameBuffer.getWidth();
+        this.nY = frameBuffer.getHeight();
+        this.frameBuffer = frameBuffer;
     }
 
     // ***************** Getters/Setters ********************** //
@@ -83,6 +100,35 @@ public class ImageWriter {
         return this.nX;
     }
 
+    /**
+     * Getter for the pixel colors
+     *
+     * @return the frame buffer
+     */
+    public FrameBuffer getFrameBuffer() {
+        return this.frameBuffer;
+    }
+
+    /**
+     * Setter for the conversion of the colors into 8 bits
+     *
+     * @param toneMapping the conversion (clamping by default)
+     * @return the image writer itself
+     */
+    public ImageWriter setToneMapping(ToneMapping toneMapping) {
+        this.toneMapping = toneMapping;
+        return this;
+    }
+
+    /**
+     * Getter for the conversion of the colors into 8 bits
+     *
+     * @return the conversion
+     */
+    ToneMapping getToneMapping() {
+        return this.toneMapping;
+    }
+
     // ***************** Operations ******************** //
 
     /**
@@ -90,15 +136,56 @@ public class ImageWriter {
      * pixel color matrix in the directory of the project
      */
     public void writeToImage() {
+        EncodeEvent event = new EncodeEvent();
+        event.begin();
         try {
             File file = new File(FOLDER_PATH + '/' + this.imageName + ".png");
-            ImageIO.write(this.image, "png", file);
+            BufferedImage image = new BufferedImage(this.nX, this.nY, BufferedImage.TYPE_INT_RGB);
+            this.frameBuffer.toneMap(this.toneMapping, ((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            ImageIO.write(image, "png", file);
+            commit(event, "png");
         } catch (IOException e) {
             this.logger.log(Level.SEVERE, "I/O error", e);
             throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
         }
     }
 
+    /**
+     * Commits the flight recorder event of the encoding of the image, if it's recorded
+     *
+     * @param event  the event, which began when the encoding started
+     * @param format the format of the image file
+     */
+    void commit(EncodeEvent event, String format) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.image = this.imageName;
+        event.format = format;
+        event.width = this.nX;
+        event.height = this.nY;
+        event.commit();
+    }
+
+    /**
+     * Notifies that the pixels of a band of rows are final (e.g. all the tiles that cover it
+     * were rendered), so a writer may encode them before the rest of the image is ready.
+     * Bands may be completed in any order. The image writer encodes the whole image at once,
+     * so it ignores the notification.
+     *
+     * @param y0 the first row of the band
+     * @param y1 the row after the band
+     */
+    public void rowsCompleted(int y0, int y1) {
+    }
+
+    /**
+     * Notifies that the render failed or was cancelled, so the image won't be completed and
+     * a writer may release what it holds for it. The image writer holds nothing but the
+     * pixels, so it ignores the notification.
+     */
+    public void abort() {
+    }
+
     /**
      * The function writePixel writes a color of a specific pixel into pixel color
      * matrix
@@ -108,7 +195,7 @@ public class ImageWriter {
      * @param color  final color of the pixel
      */
     public void writePixel(int xIndex, int yIndex, Color color) {
-        this.image.setRGB(xIndex, yIndex, color.getColor().getRGB());
+        this.frameBuffer.set(xIndex, yIndex, color);
     }
 
 }
@@ -0,0 +1,22 @@
+package renderer;
+
+/**
+ * Listener of the passes of a progressive rendering. It is called by the rendering thread
+ * after every pass, when the frame buffer holds the mean of the samples of all the passes
+ * so far, so the listener may take a snapshot of the image (e.g. by writing it) and decide
+ * whether the rendering goes on.
+ *
+ * @author Avidan and Ziv
+ */
+@FunctionalInterface
+public interface PassListener {
+    /**
+     * Called when a pass of the progressive rendering is over
+     *
+     * @param pass        amount of passes that are done
+     * @param passes      amount of passes of the complete rendering
+     * @param frameBuffer the mean color of the pixels over the passes that are done
+     * @return true to go on with the next pass, false to stop the rendering
+     */
+    boolean passCompleted(int pass, int passes, FrameBuffer frameBuffer);
+}
@@ -1,94 +1,77 @@
 package renderer;
 
-/** PixelManager is a helper class. It is used for multi-threading in the
- * renderer and
- * for follow up its progress.<br/>
- * A Camera uses one pixel manager object and several Pixel objects - one in
- * each thread.
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** PixelManager is a helper class. It is used for following up the progress of
+ * a multi-threaded rendering.<br/>
+ * The rendering threads add the amount of pixels they have finished once per tile
+ * into a striped counter, so they never wait on each other. The progress is reported
+ * to the listener from a separate low-frequency reporter thread.
  * @author Dan Zilberstein */
 class PixelManager {
-    /** Immutable class for object containing allocated pixel (with its row and
-     * column numbers) */
-    record Pixel(int col, int row) {
-    }
-
-    /** Maximum rows of pixels */
-    private int                 maxRows       = 0;
-    /** Maximum columns of pixels */
-    private int                 maxCols       = 0;
     /** Total amount of pixels in the generated image */
-    private long                totalPixels   = 0l;
-
-    /** Currently processed row of pixels */
-    private volatile int        cRow          = 0;
-    /** Currently processed column of pixels */
-    private volatile int        cCol          = -1;
+    private final long                     totalPixels;
     /** Amount of pixels that have been processed */
-    private volatile long       pixels        = 0l;
-    /** Last printed progress update percentage */
-    private volatile int        lastPrinted   = 0;
-
-    /** Flag of debug printing of progress percentage */
-    private boolean             print         = false;
-    /** Progress percentage printing interval */
-    private long                printInterval = 100l;
-    /** Printing format */
-    private static final String PRINT_FORMAT  = "%5.1f%%\r";
-    /** Mutual exclusion object for synchronizing next pixel allocation between
-     * threads */
-    private Object              mutexNext     = new Object();
-    /** Mutual exclusion object for printing progress percentage in console window
-     * by different threads */
-    private Object              mutexPixels   = new Object();
+    private final LongAdder                pixels   = new LongAdder();
+    /** Listener of the progress, null if reporting is not required */
+    private final ProgressListener         listener;
+    /** Thread reporting the progress in intervals, null if reporting is not required */
+    private final ScheduledExecutorService reporter;
+    /** Last reported amount of processed pixels (accessed by the reporter only) */
+    private long                           lastReported = -1;
 
     /** Initialize pixel manager data for multi-threading
-     * @param maxRows  the amount of pixel rows
-     * @param maxCols  the amount of pixel columns
-     * @param interval print time interval in seconds, 0 if printing is not
-     *                 required */
-    PixelManager(int maxRows, int maxCols, double interval) {
-        this.maxRows  = maxRows;
-        this.maxCols  = maxCols;
-        totalPixels   = (long) maxRows * maxCols;
-        printInterval = (int) (interval * 10);
-        if (print = printInterval != 0) System.out.printf(PRINT_FORMAT, 0d);
+     * @param totalPixels the amount of pixels in the image
+     * @param listener    listener of the progress, null if reporting is not required
+     * @param interval    reporting time interval in seconds */
+    PixelManager(long totalPixels, ProgressListener listener, double interval) {
+        this.totalPixels = totalPixels;
+        this.listener    = listener;
+        if (listener == null) {
+            reporter = null;
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "render-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, (long) (interval * 1000));
+        reporter.scheduleAtFixedRate(this::report, 0, period, TimeUnit.MILLISECONDS);
     }
 
-    /** Function for thread-safe manipulating of main follow up Pixel object - this
-     * function is critical section for all the threads, and the pixel manager data
-     * is the shared data of this critical section.<br/>
-     * The function provides next available pixel number each call.
-     * @return true if next pixel is allocated, false if there are no more pixels */
-    Pixel nextPixel() {
-        synchronized (mutexNext) {
-            if (cRow == maxRows) return null;
+    /** Finish processing of a group of pixels (e.g. a tile) by updating the progress
+     * @param count the amount of finished pixels */
+    void pixelsDone(long count) {
+        pixels.add(count);
+    }
 
-            ++cCol;
-            if (cCol < maxCols)
-                return new Pixel(cRow, cCol);
+    /** Amount of pixels that have been processed so far
+     * @return the amount of processed pixels */
+    long getDone() {
+        return pixels.sum();
+    }
 
-            cCol = 0;
-            ++cRow;
-            if (cRow < maxRows)
-                return new Pixel(cRow, cCol);
-        }
-        return null;
+    /** Report the progress to the listener if it has changed since the last report */
+    private synchronized void report() {
+        long done = pixels.sum();
+        if (done == lastReported) return;
+        lastReported = done;
+        listener.progress(done, totalPixels);
     }
 
-    /** Finish pixel processing by updating and printing of progress percentage */
-    void pixelDone() {
-        boolean flag       = false;
-        int     percentage = 0;
-        synchronized (mutexPixels) {
-            ++pixels;
-            if (print) {
-                percentage = (int) (1000l * pixels / totalPixels);
-                if (percentage - lastPrinted >= printInterval) {
-                    lastPrinted = percentage;
-                    flag        = true;
-                }
-            }
-            if (flag) System.out.printf(PRINT_FORMAT, percentage / 10d);
+    /** Stop the reporter thread and report the final progress */
+    void close() {
+        if (reporter == null) return;
+        reporter.shutdownNow();
+        try {
+            reporter.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        report();
     }
-}
\ No newline at end of file
+}
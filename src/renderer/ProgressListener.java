@@ -0,0 +1,27 @@
+package renderer;
+
+/**
+ * Listener of the progress of a rendering. It is called from a separate reporter thread,
+ * in the interval set on the camera, and once more when the rendering is over.
+ *
+ * @author Avidan and Ziv
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Called with the current progress of the rendering
+     *
+     * @param donePixels  amount of pixels that have been rendered
+     * @param totalPixels amount of pixels in the image
+     */
+    void progress(long donePixels, long totalPixels);
+
+    /**
+     * Creates a listener that prints the progress percentage in the console
+     *
+     * @return the printing listener
+     */
+    static ProgressListener console() {
+        return (donePixels, totalPixels) -> System.out.printf("%5.1f%%\r", 100d * donePixels / totalPixels);
+    }
+}
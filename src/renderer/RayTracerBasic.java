@@ -3,10 +3,9 @@ package renderer;
 import geometries.Intersectable.GeoPoint;
 import lighting.LightSource;
 import primitives.*;
+import renderer.RenderStatistics.RayType;
 import scene.Scene;
 
-import java.util.List;
-
 import static primitives.Util.alignZero;
 
 /**
@@ -38,7 +37,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @return the point of the closest intersection
      */
     private GeoPoint findClosestIntersection(Ray ray) {
-        return ray.findClosestGeoPoint(this.scene.geometries.findGeoIntersections(ray));
+        return this.scene.geometries.findClosestGeoIntersection(ray);
     }
 
     /**
@@ -53,19 +52,9 @@ public class RayTracerBasic extends RayTracerBase {
     private Double3 transparency(GeoPoint gp, Vector l, Vector n, LightSource lightSource) {
         Vector lightDirection = l.scale(-1); // from point to light source
         Ray lightRay = new Ray(gp.point, lightDirection, n);
-        Point point = lightRay.getP0();
-        List<GeoPoint> intersections = this.scene.geometries.findGeoIntersections(lightRay, Double.POSITIVE_INFINITY);
-        if (intersections == null) return Double3.ONE;
-
-        double distToLight = lightSource.getDistance(point);
-        Double3 ktr = Double3.ONE;
-        for (GeoPoint pointIntersect : intersections) {
-            if (alignZero(distToLight - point.distance(pointIntersect.point)) > 0) {
-                ktr = ktr.product(pointIntersect.geometry.getMaterial().kT);
-                if (ktr.lowerThan(MIN_CALC_COLOR_K)) return Double3.ZERO;
-            }
-        }
-        return ktr;
+        double distToLight = lightSource.getDistance(lightRay.getP0());
+        RenderStatistics.countRay(RayType.SHADOW);
+        return this.scene.geometries.findTransparency(lightRay, distToLight, MIN_CALC_COLOR_K);
     }
 
     @Override
@@ -124,13 +113,14 @@ public class RayTracerBasic extends RayTracerBase {
         Material material = gp.geometry.getMaterial();
         Ray reflectedRay = constructReflectedRay(gp.point, v, n, vn);
         Ray refractedRay = constructRefractedRay(gp.point, v, n);
-        return calcGlobalEffect(reflectedRay, level, material.kR, k).
-                add(calcGlobalEffect(refractedRay, level, material.kT, k));
+        return calcGlobalEffect(reflectedRay, RayType.REFLECTED, level, material.kR, k).
+                add(calcGlobalEffect(refractedRay, RayType.REFRACTED, level, material.kT, k));
     }
 
-    private Color calcGlobalEffect(Ray ray, int level, Double3 kx, Double3 k) {
+    private Color calcGlobalEffect(Ray ray, RayType type, int level, Double3 kx, Double3 k) {
         Double3 kkx = k.product(kx);
         if (kkx.lowerThan(MIN_CALC_COLOR_K)) return Color.BLACK;
+        RenderStatistics.countRay(type);
         GeoPoint point = findClosestIntersection(ray);
         return (point == null ? scene.background : calcColor(point, ray, level - 1, kkx)).scale(kx);
     }
@@ -145,7 +135,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @return the reflected ray
      */
     private Ray constructReflectedRay(Point point, Vector v, Vector n, double vn) {
-        Vector r = v.subtract(n.scale(vn).scale(2));
+        Vector r = new Vec3().set(v).addScaled(n, -2 * vn).toVector();
         return new Ray(point, r, n);
     }
 
@@ -210,8 +200,8 @@ public class RayTracerBasic extends RayTracerBase {
      * @return The calculated specular reflection.
      */
     private Double3 calcSpecular(Material material, Vector n, Vector l, double nl, Vector v) {
-        Vector r = l.subtract(n.scale(nl).scale(2)).normalize();
-        double vr = alignZero(v.dotProduct(r));
+        Vec3 r = new Vec3().set(l).addScaled(n, -2 * nl).normalize();
+        double vr = alignZero(r.dot(v));
         return vr >= 0 ? Double3.ZERO // view from direction opposite to r vector
                 : material.kS.scale(Math.pow(-vr, material.nShininess));
     }
@@ -0,0 +1,145 @@
+package renderer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RenderLimits bounds a rendering by a wall-clock time limit, a budget of camera rays and
+ * a cancellation token. A progressive rendering that is bounded by limits stops when any of
+ * them is reached, and keeps the image of the passes it completed: a pass isn't started if
+ * the remaining time or rays aren't expected to suffice for it, and the tiles of a pass are
+ * checked against the limits before they are rendered.<br/>
+ * The limits hold the state of the rendering they bound (its start time and the rays it
+ * traced), so they are used by a single rendering at a time.
+ *
+ * @author Avidan and Ziv
+ */
+public class RenderLimits {
+    /**
+     * Time limit in nanoseconds
+     */
+    private long timeLimit = Long.MAX_VALUE;
+    /**
+     * Largest amount of camera rays
+     */
+    private long rayBudget = Long.MAX_VALUE;
+    /**
+     * Token that cancels the rendering, null if the rendering isn't cancelled
+     */
+    private CancellationToken token = null;
+
+    /**
+     * The time the rendering started, in nanoseconds (of {@link System#nanoTime()})
+     */
+    private long start;
+    /**
+     * Amount of camera rays that were traced
+     */
+    private final AtomicLong tracedRays = new AtomicLong();
+    /**
+     * Whether a limit was reached
+     */
+    private volatile boolean reached = false;
+
+    /**
+     * Set the time limit of the rendering
+     *
+     * @param seconds wall-clock time limit in seconds
+     * @return updated RenderLimits object
+     */
+    public RenderLimits setTimeLimit(double seconds) {
+        if (seconds <= 0) throw new IllegalArgumentException("Time limit must be positive");
+        this.timeLimit = seconds * 1e9 >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) (seconds * 1e9);
+        return this;
+    }
+
+    /**
+     * Set the budget of camera rays of the rendering (rays traced from the camera, not counting
+     * the reflected, refracted and shadow rays they spawn)
+     *
+     * @param rays largest amount of camera rays
+     * @return updated RenderLimits object
+     */
+    public RenderLimits setRayBudget(long rays) {
+        if (rays <= 0) throw new IllegalArgumentException("Ray budget must be positive");
+        this.rayBudget = rays;
+        return this;
+    }
+
+    /**
+     * Set the cancellation token of the rendering
+     *
+     * @param token the token
+     * @return updated RenderLimits object
+     */
+    public RenderLimits setCancellationToken(CancellationToken token) {
+        this.token = token;
+        return this;
+    }
+
+    /**
+     * @return amount of camera rays the rendering traced
+     */
+    public long getTracedRays() {
+        return this.tracedRays.get();
+    }
+
+    /**
+     * @return true if the rendering stopped before it was complete, since a limit was reached
+     * (or was expected to be reached by the next pass)
+     */
+    public boolean isReached() {
+        return this.reached;
+    }
+
+    /**
+     * Starts the clock and the ray count of a rendering
+     */
+    void start() {
+        this.start = System.nanoTime();
+        this.tracedRays.set(0);
+        this.reached = false;
+    }
+
+    /**
+     * Checks whether a pass fits in the remaining time and rays
+     *
+     * @param rays      amount of camera rays of the pass
+     * @param passNanos expected duration of the pass in nanoseconds
+     * @return true if the pass may start, false if a limit would be reached
+     */
+    boolean allowsPass(long rays, long passNanos) {
+        boolean allowed = !isCancelled() && this.rayBudget - this.tracedRays.get() >= rays
+                && this.timeLimit - (System.nanoTime() - this.start) >= passNanos;
+        if (!allowed) this.reached = true;
+        return allowed;
+    }
+
+    /**
+     * Takes rays of a tile from the budget, if no limit was reached
+     *
+     * @param rays amount of camera rays of the tile
+     * @return true if the tile may be rendered
+     */
+    boolean acquire(int rays) {
+        if (isCancelled() || System.nanoTime() - this.start >= this.timeLimit) {
+            this.reached = true;
+            return false;
+        }
+        long traced;
+        do {
+            traced = this.tracedRays.get();
+            if (this.rayBudget - traced < rays) {
+                this.reached = true;
+                return false;
+            }
+        } while (!this.tracedRays.compareAndSet(traced, traced + rays));
+        return true;
+    }
+
+    /**
+     * @return true if the rendering was cancelled
+     */
+    private boolean isCancelled() {
+        return this.token != null && this.token.isCancelled();
+    }
+}
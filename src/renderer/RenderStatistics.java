@@ -0,0 +1,278 @@
+package renderer;
+
+import geometries.IntersectionCounters;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RenderStatistics collects the work of a render: the traced rays by their type, the
+ * intersection tests by geometry class, the ray-box tests and hierarchy node visits, and the
+ * time of the render phases.<br/>
+ * The rendering threads count into counters of their own while they render a tile, and the
+ * counters of every tile are merged into the statistics when the tile is done, so the threads
+ * share nothing but the merge. The statistics are reset when a render starts, and hold
+ * the summary of the render when it's over (see {@link #toString()}).
+ *
+ * @author Avidan and Ziv
+ */
+public class RenderStatistics {
+    /**
+     * Types of the traced rays
+     */
+    public enum RayType {
+        /**
+         * Ray from the camera through the center of a pixel
+         */
+        CAMERA,
+        /**
+         * Depth of field ray from a point on the aperture
+         */
+        APERTURE,
+        /**
+         * Ray from a point towards a light source
+         */
+        SHADOW,
+        /**
+         * Reflected ray
+         */
+        REFLECTED,
+        /**
+         * Refracted ray
+         */
+        REFRACTED
+    }
+
+    /**
+     * Phases of a render
+     */
+    public enum Phase {
+        /**
+         * Preparation of the render, including the restore of the checkpoint
+         */
+        SETUP,
+        /**
+         * Rendering of the tiles, in wall-clock time
+         */
+        TILES,
+        /**
+         * Rendering of the tiles, summed over the tiles (the busy time of all the threads)
+         */
+        TILE_BUSY,
+        /**
+         * Completion of the render, including the checkpoint
+         */
+        FINISH
+    }
+
+    /**
+     * The counters of a tile
+     *
+     * @param rays          amount of traced rays by their type
+     * @param intersections the intersection counters
+     */
+    record TileCounters(long[] rays, IntersectionCounters intersections) {
+        /**
+         * Getter for the traced rays of a type
+         *
+         * @param type the type of the rays
+         * @return amount of traced rays of the type
+         */
+        long rays(RayType type) {
+            return this.rays[type.ordinal()];
+        }
+
+        /**
+         * @return amount of traced rays of all the types
+         */
+        long totalRays() {
+            long total = 0;
+            for (long count : this.rays) total += count;
+            return total;
+        }
+    }
+
+    /**
+     * The ray counters of the current thread, absent if the thread doesn't count
+     */
+    private static final ThreadLocal<long[]> LOCAL = new ThreadLocal<>();
+    /**
+     * Amount of threads that count rays
+     */
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+    /**
+     * Amount of traced rays by their type
+     */
+    private final long[] rays = new long[RayType.values().length];
+    /**
+     * Time of the phases in nanoseconds
+     */
+    private final long[] nanos = new long[Phase.values().length];
+    /**
+     * The intersection counters of the render
+     */
+    private IntersectionCounters intersections = new IntersectionCounters();
+    /**
+     * Amount of rendered tiles
+     */
+    private long tiles = 0;
+
+    /**
+     * Counts a traced ray in the current thread, if it counts
+     *
+     * @param type the type of the ray
+     */
+    static void countRay(RayType type) {
+        countRays(type, 1);
+    }
+
+    /**
+     * Counts traced rays in the current thread, if it counts
+     *
+     * @param type  the type of the rays
+     * @param count amount of rays
+     */
+    static void countRays(RayType type, int count) {
+        if (ACTIVE.get() == 0) return;
+        long[] counters = LOCAL.get();
+        if (counters != null) counters[type.ordinal()] += count;
+    }
+
+    /**
+     * Starts counting the rays and the intersections of a tile in the current thread
+     *
+     * @return the counters of the tile, which are updated while the tile is rendered
+     */
+    static TileCounters startTile() {
+        if (LOCAL.get() == null) ACTIVE.incrementAndGet();
+        long[] rays = new long[RayType.values().length];
+        LOCAL.set(rays);
+        return new TileCounters(rays, IntersectionCounters.start());
+    }
+
+    /**
+     * Stops counting in the current thread
+     *
+     * @return the counters of the tile
+     */
+    static TileCounters stopTile() {
+        long[] rays = LOCAL.get();
+        if (rays != null) {
+            LOCAL.remove();
+            ACTIVE.decrementAndGet();
+        }
+        IntersectionCounters intersections = IntersectionCounters.stop();
+        return new TileCounters(rays == null ? new long[RayType.values().length] : rays,
+                intersections == null ? new IntersectionCounters() : intersections);
+    }
+
+    /**
+     * Merges the counters of a tile
+     *
+     * @param counters the counters of the tile
+     * @param nanos    time of the tile in nanoseconds
+     */
+    synchronized void addTile(TileCounters counters, long nanos) {
+        for (int type = 0; type < this.rays.length; ++type) this.rays[type] += counters.rays()[type];
+        this.intersections.add(counters.intersections());
+        this.nanos[Phase.TILE_BUSY.ordinal()] += nanos;
+        ++this.tiles;
+    }
+
+    /**
+     * Adds time to a phase
+     *
+     * @param phase the phase
+     * @param nanos the time in nanoseconds
+     */
+    synchronized void addTime(Phase phase, long nanos) {
+        this.nanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Resets the statistics for a new render
+     */
+    synchronized void reset() {
+        Arrays.fill(this.rays, 0);
+        Arrays.fill(this.nanos, 0);
+        this.intersections = new IntersectionCounters();
+        this.tiles = 0;
+    }
+
+    /**
+     * Getter for the traced rays of a type
+     *
+     * @param type the type of the rays
+     * @return amount of traced rays of the type
+     */
+    public synchronized long getRays(RayType type) {
+        return this.rays[type.ordinal()];
+    }
+
+    /**
+     * @return amount of traced rays of all the types
+     */
+    public synchronized long getTotalRays() {
+        long total = 0;
+        for (long count : this.rays) total += count;
+        return total;
+    }
+
+    /**
+     * Getter for the time of a phase
+     *
+     * @param phase the phase
+     * @return the time of the phase in nanoseconds
+     */
+    public synchronized long getNanos(Phase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the intersection counters of the render (a copy)
+     */
+    public synchronized IntersectionCounters getIntersections() {
+        IntersectionCounters copy = new IntersectionCounters();
+        copy.add(this.intersections);
+        return copy;
+    }
+
+    /**
+     * @return amount of rendered tiles
+     */
+    public synchronized long getTiles() {
+        return this.tiles;
+    }
+
+    /**
+     * Summary report of the render
+     *
+     * @return the report, over several lines
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder("Render statistics: ").append(this.tiles).append(" tiles\n  rays:");
+        for (RayType type : RayType.values())
+            report.append(' ').append(type.name().toLowerCase()).append(' ').append(this.rays[type.ordinal()]).append(',');
+        report.append(" total ").append(getTotalRays())
+                .append("\n  intersection tests: ").append(this.intersections.getTotalTests());
+        Map<Class<?>, Long> tests = this.intersections.getTests();
+        if (!tests.isEmpty()) {
+            report.append(" (");
+            String separator = "";
+            for (Map.Entry<Class<?>, Long> entry : tests.entrySet()) {
+                report.append(separator).append(entry.getKey().getSimpleName()).append(' ').append(entry.getValue());
+                separator = ", ";
+            }
+            report.append(')');
+        }
+        report.append(", box tests ").append(this.intersections.getBoxTests())
+                .append(", BVH node visits ").append(this.intersections.getNodeVisits())
+                .append(String.format("\n  time: setup %.1f ms, tiles %.1f ms (busy %.1f ms), finish %.1f ms",
+                        this.nanos[Phase.SETUP.ordinal()] / 1e6, this.nanos[Phase.TILES.ordinal()] / 1e6,
+                        this.nanos[Phase.TILE_BUSY.ordinal()] / 1e6, this.nanos[Phase.FINISH.ordinal()] / 1e6));
+        return report.toString();
+    }
+}
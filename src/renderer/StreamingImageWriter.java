@@ -0,0 +1,365 @@
+package renderer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streaming image writer encodes the rows of the image as soon as they are completed,
+ * instead of building the whole image and encoding it at the end, so encoding overlaps
+ * rendering and the encoder keeps no more than a row of pixels.<br/>
+ * Completed bands are encoded in row order (bands that complete ahead of the next row wait
+ * until it is completed), and are written through a file channel:
+ * <ul>
+ * <li>PNG - the rows are deflated into a single zlib stream, which is cut into IDAT chunks</li>
+ * <li>PPM - raw binary 8 bit RGB (P6)</li>
+ * <li>PFM - raw little endian float RGB in full range (white is 1), rows from bottom to top</li>
+ * </ul>
+ * {@link #writeToImage()} encodes the rows that are left and completes the file, and
+ * {@link #abort()} closes and deletes the file of a failed render.
+ *
+ * @author Avidan and Ziv
+ */
+public class StreamingImageWriter extends ImageWriter {
+    /**
+     * Image file formats
+     */
+    public enum Format {
+        /**
+         * Portable Network Graphics
+         */
+        PNG("png"),
+        /**
+         * Binary Portable Pixmap
+         */
+        PPM("ppm"),
+        /**
+         * Portable Float Map
+         */
+        PFM("pfm");
+
+        /**
+         * the file extension
+         */
+        private final String extension;
+
+        /**
+         * constructor
+         *
+         * @param extension the file extension
+         */
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * The signature of a PNG file
+     */
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    /**
+     * Size of the deflated data that is collected before it is written as an IDAT chunk
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The format of the file
+     */
+    private final Format format;
+    /**
+     * The file
+     */
+    private final Path path;
+    /**
+     * The rows that were completed
+     */
+    private final BitSet completed = new BitSet();
+    /**
+     * The next row to encode
+     */
+    private int nextRow = 0;
+    /**
+     * The channel of the file, null while no row was encoded
+     */
+    private FileChannel channel = null;
+    /**
+     * Compressor of the PNG rows
+     */
+    private Deflater deflater = null;
+    /**
+     * Packed 8 bit RGB values of a row
+     */
+    private int[] pixels = null;
+    /**
+     * Encoded row
+     */
+    private ByteBuffer row = null;
+    /**
+     * Deflated data that wasn't written yet
+     */
+    private byte[] deflated = null;
+    /**
+     * Amount of the deflated data that wasn't written yet
+     */
+    private int deflatedSize = 0;
+
+    /**
+     * Streaming image writer constructor accepting image name, format and View Plane parameters
+     *
+     * @param imageName the name of the image file (without extension)
+     * @param format    the format of the file
+     * @param nX        amount of pixels by Width
+     * @param nY        amount of pixels by height
+     */
+    public StreamingImageWriter(String imageName, Format format, int nX, int nY) {
+        this(imageName, format, new FrameBuffer(nX, nY));
+    }
+
+    /**
+     * Streaming image writer constructor accepting image name, format and the frame buffer of the pixels
+     *
+     * @param imageName   the name of the image file (without extension)
+     * @param format      the format of the file
+     * @param frameBuffer the pixel colors, its size is the View Plane resolution
+     */
+    public StreamingImageWriter(String imageName, Format format, FrameBuffer frameBuffer) {
+        this(Path.of(FOLDER_PATH, imageName + '.' + format.extension), format, frameBuffer);
+    }
+
+    /**
+     * Streaming image writer constructor accepting the image file, format and the frame buffer of the pixels
+     *
+     * @param path        the image file
+     * @param format      the format of the file
+     * @param frameBuffer the pixel colors, its size is the View Plane resolution
+     */
+    public StreamingImageWriter(Path path, Format format, FrameBuffer frameBuffer) {
+        super(path.getFileName().toString(), frameBuffer);
+        this.path = path;
+        this.format = format;
+    }
+
+    /**
+     * Getter for the image file
+     *
+     * @return the path of the image file
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    @Override
+    public synchronized void rowsCompleted(int y0, int y1) {
+        this.completed.set(y0, y1);
+        int end = this.completed.nextClearBit(this.nextRow);
+        if (end > this.nextRow) encode(Math.min(end, getNy()));
+    }
+
+    /**
+     * Encodes the rows that were not encoded yet and completes the file
+     */
+    @Override
+    public synchronized void writeToImage() {
+        EncodeEvent event = new EncodeEvent();
+        event.begin();
+        try {
+            encode(getNy());
+            if (this.format == Format.PNG) {
+                this.deflater.finish();
+                deflate();
+                flushChunk("IDAT");
+                writeChunk("IEND", new byte[0], 0);
+            }
+            this.channel.close();
+            commit(event, this.format.name().toLowerCase());
+        } catch (IOException e) {
+            throw release(new IllegalStateException("I/O error - can't write " + this.path, e));
+        } catch (RuntimeException e) {
+            throw release(e);
+        } finally {
+            release(null);
+        }
+    }
+
+    /**
+     * Closes and deletes the file of a failed render, and ends the compressor, so the writer
+     * may be used for another image. Failures to close or delete the incomplete file are
+     * ignored, so they don't hide the failure of the render.
+     */
+    @Override
+    public synchronized void abort() {
+        boolean opened = this.channel != null;
+        release(null);
+        if (!opened) return;
+        try {
+            Files.deleteIfExists(this.path);
+        } catch (IOException ignored) {
+            // the file is incomplete anyway
+        }
+    }
+
+    /**
+     * Closes the file and ends the compressor, if they are open, and restarts the encoding
+     *
+     * @param failure the failure of the encoding, which receives a failure to close the file
+     *                as suppressed, null to ignore such a failure
+     * @return the failure
+     */
+    private RuntimeException release(RuntimeException failure) {
+        if (this.deflater != null) {
+            this.deflater.end();
+            this.deflater = null;
+        }
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                if (failure != null) failure.addSuppressed(e);
+            }
+            this.channel = null;
+        }
+        this.completed.clear();
+        this.nextRow = 0;
+        return failure;
+    }
+
+    /**
+     * Encodes the rows from the next row to encode up to a row, and writes them
+     *
+     * @param end the row after the last row to encode
+     */
+    private void encode(int end) {
+        try {
+            if (this.channel == null) open();
+            FrameBuffer frameBuffer = getFrameBuffer();
+            int nX = getNx();
+            for (int y = this.nextRow; y < end; ++y) {
+                this.row.clear();
+                if (this.format == Format.PFM) {
+                    for (int x = 0; x < nX; ++x)
+                        for (int c = 0; c < 3; ++c)
+                            this.row.putFloat(frameBuffer.get(x, y, c) / 255);
+                    this.row.flip();
+                    // the rows are stored from bottom to top
+                    long position = this.channel.position() + (long) (getNy() - 1 - y) * this.row.limit();
+                    while (this.row.hasRemaining()) position += this.channel.write(this.row, position);
+                    continue;
+                }
+
+                frameBuffer.toneMapRow(y, getToneMapping(), this.pixels, 0);
+                boolean png = this.format == Format.PNG;
+                // PNG rows are filtered by the Sub filter: every byte minus the byte of the pixel on its left
+                if (png) this.row.put((byte) 1);
+                int left = 0;
+                for (int x = 0; x < nX; ++x) {
+                    int pixel = this.pixels[x];
+                    this.row.put((byte) ((pixel >> 16) - (left >> 16)));
+                    this.row.put((byte) ((pixel >> 8) - (left >> 8)));
+                    this.row.put((byte) (pixel - left));
+                    if (png) left = pixel;
+                }
+                this.row.flip();
+                if (this.format == Format.PNG) {
+                    this.deflater.setInput(this.row.array(), 0, this.row.limit());
+                    deflate();
+                } else write(this.row);
+            }
+            this.nextRow = Math.max(this.nextRow, end);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - can't write " + this.path, e);
+        }
+    }
+
+    /**
+     * Creates the file and writes its header
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void open() throws IOException {
+        int nX = getNx(), nY = getNy();
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.pixels = new int[nX];
+        switch (this.format) {
+            case PNG -> {
+                this.row = ByteBuffer.allocate(1 + 3 * nX);
+                this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+                this.deflated = new byte[CHUNK_SIZE];
+                this.deflatedSize = 0;
+                write(ByteBuffer.wrap(PNG_SIGNATURE));
+                ByteBuffer header = ByteBuffer.allocate(13);
+                header.putInt(nX).putInt(nY).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+                writeChunk("IHDR", header.array(), 13);
+            }
+            case PPM -> {
+                this.row = ByteBuffer.allocate(3 * nX);
+                write(ByteBuffer.wrap(("P6\n" + nX + ' ' + nY + "\n255\n").getBytes(StandardCharsets.US_ASCII)));
+            }
+            case PFM -> {
+                this.row = ByteBuffer.allocate(12 * nX).order(ByteOrder.LITTLE_ENDIAN);
+                write(ByteBuffer.wrap(("PF\n" + nX + ' ' + nY + "\n-1.0\n").getBytes(StandardCharsets.US_ASCII)));
+            }
+        }
+    }
+
+    /**
+     * Collects the output of the compressor, and writes it in IDAT chunks
+     *
+     * @throws IOException if the file can't be written
+     */
+    private void deflate() throws IOException {
+        while (true) {
+            int n = this.deflater.deflate(this.deflated, this.deflatedSize, CHUNK_SIZE - this.deflatedSize);
+            this.deflatedSize += n;
+            if (this.deflatedSize == CHUNK_SIZE) flushChunk("IDAT");
+            else if (n == 0 && (this.deflater.needsInput() || this.deflater.finished())) return;
+        }
+    }
+
+    /**
+     * Writes the collected deflated data as a chunk
+     *
+     * @param type the type of the chunk
+     * @throws IOException if the file can't be written
+     */
+    private void flushChunk(String type) throws IOException {
+        if (this.deflatedSize == 0) return;
+        writeChunk(type, this.deflated, this.deflatedSize);
+        this.deflatedSize = 0;
+    }
+
+    /**
+     * Writes a PNG chunk: length, type, data and the CRC of the type and the data
+     *
+     * @param type   the type of the chunk
+     * @param data   the data of the chunk
+     * @param length the length of the data
+     * @throws IOException if the file can't be written
+     */
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(12 + length);
+        chunk.putInt(length).put(type.getBytes(StandardCharsets.US_ASCII)).put(data, 0, length);
+        CRC32 crc = new CRC32();
+        crc.update(chunk.array(), 4, 4 + length);
+        chunk.putInt((int) crc.getValue()).flip();
+        write(chunk);
+    }
+
+    /**
+     * Writes a buffer at the current position of the file
+     *
+     * @param buffer the buffer
+     * @throws IOException if the file can't be written
+     */
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) this.channel.write(buffer);
+    }
+}
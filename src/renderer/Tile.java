@@ -0,0 +1,22 @@
+package renderer;
+
+/**
+ * Immutable rectangular block of pixels that is rendered as one unit of work
+ *
+ * @param index the index of the tile in the tile grid, row by row
+ * @param x0    the first column of the tile
+ * @param y0    the first row of the tile
+ * @param x1    the column after the tile
+ * @param y1    the row after the tile
+ * @author Avidan and Ziv
+ */
+public record Tile(int index, int x0, int y0, int x1, int y1) {
+    /**
+     * Amount of pixels in the tile
+     *
+     * @return the amount of pixels
+     */
+    public int size() {
+        return (this.x1 - this.x0) * (this.y1 - this.y0);
+    }
+}
@@ -0,0 +1,64 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of the rendering of a tile, with the rays it traced
+ *
+ * @author Avidan and Ziv
+ */
+@Name("raytracer.Tile")
+@Label("Render Tile")
+@Category({"Ray Tracer", "Render"})
+@Description("Rendering of a tile of the image")
+class TileEvent extends Event {
+    /**
+     * Index of the tile in the tile grid
+     */
+    @Label("Tile Index")
+    int index;
+    /**
+     * First column of the tile
+     */
+    @Label("X")
+    int x;
+    /**
+     * First row of the tile
+     */
+    @Label("Y")
+    int y;
+    /**
+     * Amount of pixels of the tile
+     */
+    @Label("Pixels")
+    int pixels;
+    /**
+     * Amount of traced camera rays
+     */
+    @Label("Camera Rays")
+    long cameraRays;
+    /**
+     * Amount of traced depth of field rays
+     */
+    @Label("Aperture Rays")
+    long apertureRays;
+    /**
+     * Amount of traced shadow rays
+     */
+    @Label("Shadow Rays")
+    long shadowRays;
+    /**
+     * Amount of traced reflected and refracted rays
+     */
+    @Label("Secondary Rays")
+    long secondaryRays;
+    /**
+     * Amount of intersection tests
+     */
+    @Label("Intersection Tests")
+    long intersectionTests;
+}
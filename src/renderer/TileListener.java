@@ -0,0 +1,18 @@
+package renderer;
+
+/**
+ * Listener of the tiles of a rendering. It is called by the thread that rendered a tile,
+ * as soon as the pixels of the tile are in the frame buffer, so it must be thread safe.
+ *
+ * @author Avidan and Ziv
+ */
+@FunctionalInterface
+public interface TileListener {
+    /**
+     * Called when a tile is rendered
+     *
+     * @param tile        the tile
+     * @param frameBuffer the frame buffer of the image
+     */
+    void tileCompleted(Tile tile, FrameBuffer frameBuffer);
+}
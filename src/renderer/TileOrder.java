@@ -0,0 +1,93 @@
+package renderer;
+
+/**
+ * The order in which the tiles of an image are scheduled for rendering.
+ * Orders that keep consecutive tiles close to each other let a thread reuse the
+ * geometry it has just traced.
+ *
+ * @author Avidan and Ziv
+ */
+public enum TileOrder {
+    /**
+     * Row by row, from left to right
+     */
+    SCANLINE,
+    /**
+     * Along the Morton (Z-order) curve
+     */
+    Z_ORDER,
+    /**
+     * Along the Hilbert curve
+     */
+    HILBERT,
+    /**
+     * Spiraling out of the center of the image
+     */
+    SPIRAL;
+
+    /**
+     * Calculates the key that sorts a tile in this order
+     *
+     * @param col   the column of the tile in the tile grid
+     * @param row   the row of the tile in the tile grid
+     * @param cols  amount of tile columns
+     * @param rows  amount of tile rows
+     * @return the sort key of the tile
+     */
+    double key(int col, int row, int cols, int rows) {
+        return switch (this) {
+            case SCANLINE -> (double) row * cols + col;
+            case Z_ORDER -> spread(col) | (spread(row) << 1);
+            case HILBERT -> hilbert(col, row, Integer.highestOneBit(Math.max(Math.max(cols, rows) - 1, 1)) << 1);
+            case SPIRAL -> {
+                double dx = col - (cols - 1) / 2d, dy = row - (rows - 1) / 2d;
+                // ring around the center, then the angle along the ring
+                yield Math.max(Math.abs(dx), Math.abs(dy)) * 8 + (Math.atan2(dy, dx) + Math.PI) / Math.PI;
+            }
+        };
+    }
+
+    /**
+     * Spreads the bits of a number apart, to interleave them with the bits of another number
+     *
+     * @param n the number
+     * @return the number with a zero bit after every one of its bits
+     */
+    private static long spread(int n) {
+        long x = n & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    /**
+     * Calculates the distance of a cell along the Hilbert curve that fills a square grid
+     *
+     * @param x    the column of the cell
+     * @param y    the row of the cell
+     * @param size the side of the grid (a power of 2)
+     * @return the distance along the curve
+     */
+    private static long hilbert(int x, int y, int size) {
+        long d = 0;
+        for (int s = size / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int temp = x;
+                x = y;
+                y = temp;
+            }
+        }
+        return d;
+    }
+}
@@ -0,0 +1,123 @@
+package renderer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * TileScheduler is a helper class of the Camera. It splits the image into tiles, orders
+ * them, and renders them on a dedicated fork-join pool. The tasks are split down to single
+ * tiles, so idle threads steal work at tile granularity.
+ *
+ * @author Avidan and Ziv
+ */
+class TileScheduler {
+    /**
+     * The tiles in their scheduling order
+     */
+    private final List<Tile> tiles;
+
+    /**
+     * Split an image into tiles
+     *
+     * @param nX       amount of pixel columns
+     * @param nY       amount of pixel rows
+     * @param tileSize the side of a tile in pixels
+     * @param order    the order of the tiles
+     */
+    TileScheduler(int nX, int nY, int tileSize, TileOrder order) {
+        if (tileSize <= 0) throw new IllegalArgumentException("Tile size must be positive");
+        int cols = (nX + tileSize - 1) / tileSize;
+        int rows = (nY + tileSize - 1) / tileSize;
+        this.tiles = new ArrayList<>(cols * rows);
+        for (int row = 0; row < rows; ++row)
+            for (int col = 0; col < cols; ++col)
+                this.tiles.add(new Tile(row * cols + col, col * tileSize, row * tileSize,
+                        Math.min(nX, (col + 1) * tileSize), Math.min(nY, (row + 1) * tileSize)));
+        this.tiles.sort(Comparator.comparingDouble(tile ->
+                order.key(tile.index() % cols, tile.index() / cols, cols, rows)));
+    }
+
+    /**
+     * Getter for the tiles
+     *
+     * @return the tiles in their scheduling order
+     */
+    List<Tile> getTiles() {
+        return this.tiles;
+    }
+
+    /**
+     * Renders all the tiles
+     *
+     * @param threads amount of threads, 0 to render in the calling thread
+     * @param action  renders a tile
+     */
+    void run(int threads, Consumer<Tile> action) {
+        if (threads == 0 || this.tiles.size() <= 1) {
+            for (Tile tile : this.tiles) action.accept(tile);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new TileTask(this.tiles, action, 0, this.tiles.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Fork-join task rendering a range of the tiles
+     */
+    private static class TileTask extends RecursiveAction {
+        /**
+         * the version of the serialized form
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * the tiles of the scheduler
+         */
+        private final transient List<Tile> tiles;
+        /**
+         * renders a tile
+         */
+        private final transient Consumer<Tile> action;
+        /**
+         * the first tile of the range
+         */
+        private final int from;
+        /**
+         * the position after the range
+         */
+        private final int to;
+
+        /**
+         * constructor
+         *
+         * @param tiles  the tiles of the scheduler
+         * @param action renders a tile
+         * @param from   the first tile of the range
+         * @param to     the position after the range
+         */
+        TileTask(List<Tile> tiles, Consumer<Tile> action, int from, int to) {
+            this.tiles = tiles;
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                this.action.accept(this.tiles.get(this.from));
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new TileTask(this.tiles, this.action, this.from, middle),
+                    new TileTask(this.tiles, this.action, middle, this.to));
+        }
+    }
+}
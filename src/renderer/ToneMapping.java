@@ -0,0 +1,32 @@
+package renderer;
+
+/**
+ * The conversion of the color components of the frame buffer, which are unbounded,
+ * into the 8 bits of an image channel.
+ *
+ * @author Avidan and Ziv
+ */
+public enum ToneMapping {
+    /**
+     * Components are truncated, and components above 255 are clamped to 255
+     */
+    CLAMP,
+    /**
+     * Components are compressed by the Reinhard operator c / (1 + c) (in units of 255),
+     * so bright components keep their differences instead of being clamped
+     */
+    REINHARD;
+
+    /**
+     * Converts a color component into an image channel
+     *
+     * @param value the color component
+     * @return the channel value, 0 to 255
+     */
+    int map(double value) {
+        return switch (this) {
+            case CLAMP -> Math.min(255, (int) value);
+            case REINHARD -> (int) (255 * value / (255 + value));
+        };
+    }
+}
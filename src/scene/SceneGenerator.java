@@ -0,0 +1,284 @@
+package scene;
+
+import geometries.Intersectable;
+import geometries.Mesh;
+import geometries.Polygon;
+import geometries.Sphere;
+import lighting.PointLight;
+import lighting.SpotLight;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * SceneGenerator builds large procedural scenes of any size, for measuring how the rendering
+ * scales (e.g. a sweep from 10 to 10^7 primitives): random spheres, tessellated meshes,
+ * grids of polygons and many lights, all inside a box of the scene (the bounds).<br/>
+ * The generator is seeded: the same seed and the same calls build the same scene. Every call
+ * draws from its own stream, split from the generator, so a call doesn't change the
+ * primitives of the following calls.<br/>
+ * The primitives share a small palette of materials and emissions (diffuse, glossy, mirror
+ * and glass) rather than a material each. Scenes of millions of triangles should be made of
+ * meshes, which hold their faces in flat buffers.
+ *
+ * @author Avidan and Ziv
+ */
+public class SceneGenerator {
+    /**
+     * Amount of materials and emissions of the palette of every call
+     */
+    private static final int PALETTE = 16;
+    /**
+     * Amount of waves summed to the height of a mesh
+     */
+    private static final int WAVES = 4;
+
+    /**
+     * The generator of the streams of the calls
+     */
+    private final SplittableRandom random;
+    /**
+     * The corners of the bounds
+     */
+    private Point min = new Point(-100, -100, -100), max = new Point(100, 100, 100);
+
+    /**
+     * Constructs a generator
+     *
+     * @param seed the seed of the scenes
+     */
+    public SceneGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Set the box the primitives are generated in. The default bounds are a cube of side 200
+     * around the origin, which fills the view of the cameras of the tests
+     * (e.g. from (0, 0, 1000) with a view plane of 200x200 at distance 1000).
+     *
+     * @param min the corner of the lowest coordinates
+     * @param max the corner of the highest coordinates
+     * @return updated SceneGenerator object
+     * @throws IllegalArgumentException if the box is empty
+     */
+    public SceneGenerator setBounds(Point min, Point max) {
+        if (max.getX() <= min.getX() || max.getY() <= min.getY() || max.getZ() <= min.getZ())
+            throw new IllegalArgumentException("Bounds must have a positive size on every axis");
+        this.min = min;
+        this.max = max;
+        return this;
+    }
+
+    /**
+     * Adds random spheres of mixed materials. The radii are scaled by the amount of spheres,
+     * so the bounds are filled alike by any amount.
+     *
+     * @param scene the scene
+     * @param count amount of spheres
+     * @return updated SceneGenerator object
+     * @throws IllegalArgumentException if the amount isn't positive
+     */
+    public SceneGenerator addSpheres(Scene scene, int count) {
+        if (count <= 0) throw new IllegalArgumentException("Amount of spheres must be positive");
+        SplittableRandom random = this.random.split();
+        Material[] materials = materials(random);
+        Color[] emissions = emissions(random);
+        double sizeX = this.max.getX() - this.min.getX();
+        double sizeY = this.max.getY() - this.min.getY();
+        double sizeZ = this.max.getZ() - this.min.getZ();
+        double spacing = Math.cbrt(sizeX * sizeY * sizeZ / count);
+        double maxRadius = Math.min(0.4 * spacing, Math.min(sizeX, Math.min(sizeY, sizeZ)) / 4);
+
+        List<Intersectable> spheres = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            double radius = random.nextDouble(maxRadius / 4, maxRadius);
+            Point center = new Point(
+                    random.nextDouble(this.min.getX() + radius, this.max.getX() - radius),
+                    random.nextDouble(this.min.getY() + radius, this.max.getY() - radius),
+                    random.nextDouble(this.min.getZ() + radius, this.max.getZ() - radius));
+            int kind = random.nextInt(PALETTE);
+            spheres.add(new Sphere(center, radius).setMaterial(materials[kind]).setEmission(emissions[kind]));
+        }
+        scene.geometries.add(spheres);
+        return this;
+    }
+
+    /**
+     * Adds a tessellated terrain: a mesh of a grid of squares over the bottom of the bounds,
+     * each made of two triangles, whose heights are a sum of random waves. The terrain fills
+     * the lowest quarter of the bounds.
+     *
+     * @param scene     the scene
+     * @param triangles amount of triangles of the mesh
+     * @return updated SceneGenerator object
+     * @throws IllegalArgumentException if the amount isn't positive
+     */
+    public SceneGenerator addMesh(Scene scene, int triangles) {
+        if (triangles <= 0) throw new IllegalArgumentException("Amount of triangles must be positive");
+        SplittableRandom random = this.random.split();
+        Material[] materials = materials(random);
+        Color[] emissions = emissions(random);
+        int squares = (triangles + 1) / 2;
+        int columns = (int) Math.ceil(Math.sqrt(squares));
+        int rows = (squares + columns - 1) / columns;
+
+        double[][] waves = new double[WAVES][];
+        for (int k = 0; k < WAVES; ++k)
+            // frequency on x, frequency on z, phase - the frequencies are in waves along the bounds
+            waves[k] = new double[]{random.nextDouble(-3, 3) * 2 * Math.PI / (this.max.getX() - this.min.getX()),
+                    random.nextDouble(-3, 3) * 2 * Math.PI / (this.max.getZ() - this.min.getZ()),
+                    random.nextDouble(2 * Math.PI)};
+        double height = (this.max.getY() - this.min.getY()) / 4;
+
+        double[] vertices = new double[3 * (rows + 1) * (columns + 1)];
+        for (int r = 0, i = 0; r <= rows; ++r)
+            for (int c = 0; c <= columns; ++c, i += 3) {
+                double x = this.min.getX() + (this.max.getX() - this.min.getX()) * c / columns;
+                double z = this.min.getZ() + (this.max.getZ() - this.min.getZ()) * r / rows;
+                double sum = 0;
+                for (double[] wave : waves) sum += Math.sin(wave[0] * x + wave[1] * z + wave[2]);
+                vertices[i] = x;
+                vertices[i + 1] = this.min.getY() + height * (sum / WAVES + 1) / 2;
+                vertices[i + 2] = z;
+            }
+
+        // every square is split on its diagonal, the faces are ordered so their normals point up
+        int[] faces = new int[3 * triangles];
+        for (int face = 0; face < triangles; ++face) {
+            int square = face / 2, r = square / columns, c = square % columns;
+            int a = r * (columns + 1) + c, b = a + 1, d = a + columns + 1, e = d + 1;
+            int f = 3 * face;
+            if (face % 2 == 0) {
+                faces[f] = a;
+                faces[f + 1] = d;
+                faces[f + 2] = b;
+            } else {
+                faces[f] = b;
+                faces[f + 1] = d;
+                faces[f + 2] = e;
+            }
+        }
+        int kind = random.nextInt(PALETTE);
+        scene.geometries.add(new Mesh(vertices, faces).setMaterial(materials[kind]).setEmission(emissions[kind]));
+        return this;
+    }
+
+    /**
+     * Adds a grid of square polygons of mixed materials, which faces the cameras of the tests:
+     * a wall at the back of the bounds, whose tiles are slightly tilted and moved in depth.
+     *
+     * @param scene   the scene
+     * @param rows    amount of rows of the grid
+     * @param columns amount of columns of the grid
+     * @return updated SceneGenerator object
+     * @throws IllegalArgumentException if an amount isn't positive
+     */
+    public SceneGenerator addPolygonGrid(Scene scene, int rows, int columns) {
+        if (rows <= 0 || columns <= 0) throw new IllegalArgumentException("Grid size must be positive");
+        SplittableRandom random = this.random.split();
+        Material[] materials = materials(random);
+        Color[] emissions = emissions(random);
+        double cellX = (this.max.getX() - this.min.getX()) / columns;
+        double cellY = (this.max.getY() - this.min.getY()) / rows;
+        double half = 0.4 * Math.min(cellX, cellY);
+        double depth = (this.max.getZ() - this.min.getZ()) / 16;
+        // largest tilt that keeps the tiles in the depth of the wall
+        double maxTilt = Math.asin(Math.min(1, depth / half));
+
+        List<Intersectable> polygons = new ArrayList<>(rows * columns);
+        for (int r = 0; r < rows; ++r)
+            for (int c = 0; c < columns; ++c) {
+                double x = this.min.getX() + cellX * (c + 0.5);
+                double y = this.min.getY() + cellY * (r + 0.5);
+                double z = this.min.getZ() + 2 * depth + random.nextDouble(-depth, depth);
+                // the tile is tilted around the x axis: its sides are (half, 0, 0) and (0, sy, sz)
+                double tilt = random.nextDouble(-maxTilt, maxTilt);
+                double sy = half * Math.cos(tilt), sz = half * Math.sin(tilt);
+                int kind = random.nextInt(PALETTE);
+                polygons.add(new Polygon(
+                        new Point(x - half, y - sy, z - sz),
+                        new Point(x + half, y - sy, z - sz),
+                        new Point(x + half, y + sy, z + sz),
+                        new Point(x - half, y + sy, z + sz))
+                        .setMaterial(materials[kind]).setEmission(emissions[kind]));
+            }
+        scene.geometries.add(polygons);
+        return this;
+    }
+
+    /**
+     * Adds point lights and spot lights (a third of them) around the bounds, the spot lights
+     * pointing at the center of the bounds. The intensity is divided among the lights, so the
+     * scene is lit alike by any amount of lights.
+     *
+     * @param scene the scene
+     * @param count amount of lights
+     * @return updated SceneGenerator object
+     * @throws IllegalArgumentException if the amount isn't positive
+     */
+    public SceneGenerator addLights(Scene scene, int count) {
+        if (count <= 0) throw new IllegalArgumentException("Amount of lights must be positive");
+        SplittableRandom random = this.random.split();
+        Point center = new Point((this.min.getX() + this.max.getX()) / 2, (this.min.getY() + this.max.getY()) / 2,
+                (this.min.getZ() + this.max.getZ()) / 2);
+        Vector half = this.max.subtract(center);
+        // attenuation of about a half at the size of the bounds
+        double size = 2 * half.length();
+        double kL = 0.5 / size, kQ = 0.5 / (size * size);
+        double total = 1500;
+
+        for (int i = 0; i < count; ++i) {
+            Point position = new Point(
+                    center.getX() + half.getX() * random.nextDouble(-1.5, 1.5),
+                    center.getY() + half.getY() * random.nextDouble(-1.5, 1.5),
+                    center.getZ() + half.getZ() * random.nextDouble(-1.5, 1.5));
+            Color intensity = new Color(random.nextDouble(0.5, 1), random.nextDouble(0.5, 1),
+                    random.nextDouble(0.5, 1)).scale(total / count);
+            scene.lights.add(i % 3 == 2 && !position.equals(center)
+                    ? new SpotLight(intensity, position, center.subtract(position)).setKl(kL).setKq(kQ)
+                    : new PointLight(intensity, position).setKl(kL).setKq(kQ));
+        }
+        return this;
+    }
+
+    /**
+     * Creates the palette of materials of a call: diffuse, glossy, mirror and glass materials
+     * in turns, with random coefficients
+     *
+     * @param random the stream of the call
+     * @return the materials
+     */
+    private static Material[] materials(SplittableRandom random) {
+        Material[] materials = new Material[PALETTE];
+        for (int i = 0; i < PALETTE; ++i)
+            materials[i] = switch (i % 4) {
+                case 0 -> new Material().setKd(random.nextDouble(0.5, 0.8)).setKs(random.nextDouble(0.1, 0.3))
+                        .setNShininess(random.nextInt(10, 40));
+                case 1 -> new Material().setKd(random.nextDouble(0.2, 0.4)).setKs(random.nextDouble(0.5, 0.8))
+                        .setNShininess(random.nextInt(100, 300));
+                case 2 -> new Material().setKd(0.1).setKs(0.3).setNShininess(random.nextInt(100, 300))
+                        .setKr(random.nextDouble(0.5, 0.9));
+                default -> new Material().setKd(0.1).setKs(0.4).setNShininess(random.nextInt(50, 150))
+                        .setKt(random.nextDouble(0.5, 0.9));
+            };
+        return materials;
+    }
+
+    /**
+     * Creates the palette of emissions of a call
+     *
+     * @param random the stream of the call
+     * @return the emissions
+     */
+    private static Color[] emissions(SplittableRandom random) {
+        Color[] emissions = new Color[PALETTE];
+        for (int i = 0; i < PALETTE; ++i)
+            emissions[i] = new Color(random.nextDouble(20, 150), random.nextDouble(20, 150), random.nextDouble(20, 150));
+        return emissions;
+    }
+}
@@ -1,10 +1,17 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -36,4 +43,122 @@ class GeometriesTests {
         // TC05: Only one intersection expected - ray crosses just one geometry
         assertEquals(1, geometries.findIntersections(new Ray(new Point(1, 1, 0), new Vector(0, -1, 0))).size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Geometries#buildBVH()}.
+     */
+    @Test
+    void testBuildBVH() {
+        Random random = new Random(7);
+        List<Intersectable> spheres = new LinkedList<>();
+        for (int i = 0; i < 200; ++i)
+            spheres.add(new Sphere(new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100),
+                    1 + random.nextDouble() * 3));
+        Geometries linear = new Geometries().add(spheres);
+        Geometries hierarchy = new Geometries().add(spheres).add(List.of(new Plane(new Point(0, 0, -10), new Vector(0, 0, 1))));
+        hierarchy.buildBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Every ray finds the same intersections as the linear list (and one more on the plane below)
+        for (int i = 0; i < 500; ++i) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, 150),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            var expected = linear.findIntersections(ray);
+            var result = hierarchy.findIntersections(ray);
+            assertEquals(expected == null ? 1 : expected.size() + 1, result.size(), "Wrong number of points");
+        }
+
+        // =============== Boundary Values Tests ==============
+        // TC02: Ray misses every bounded geometry and is parallel to the plane
+        assertNull(hierarchy.findIntersections(new Ray(new Point(-50, -50, 0), new Vector(-1, 0, 0))));
+        // TC03: Nested hierarchies (groups with hierarchies of their own) find the same intersections
+        List<Intersectable> groups = new LinkedList<>();
+        List<Intersectable> all = new ArrayList<>(spheres);
+        for (int i = 0; i < all.size(); i += 20)
+            groups.add(new Geometries().add(all.subList(i, i + 20)).buildBVH());
+        Geometries nested = new Geometries().add(groups).buildBVH();
+        for (int i = 0; i < 500; ++i) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, 150),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            var expected = linear.findIntersections(ray);
+            var result = nested.findIntersections(ray);
+            assertEquals(expected == null ? 0 : expected.size(), result == null ? 0 : result.size(),
+                    "Wrong number of points in nested hierarchies");
+            assertEquals(linear.findClosestGeoIntersection(ray), nested.findClosestGeoIntersection(ray),
+                    "Wrong closest point in nested hierarchies");
+        }
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestGeoIntersection(Ray)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Random random = new Random(11);
+        Plane plane = new Plane(new Point(0, 0, -10), new Vector(0, 0, 1));
+        List<Intersectable> spheres = new LinkedList<>();
+        for (int i = 0; i < 100; ++i)
+            spheres.add(new Sphere(new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100),
+                    1 + random.nextDouble() * 5));
+        Geometries geometries = new Geometries(plane).add(spheres);
+        // the hierarchy is built over the bounded spheres, the plane stays an unbounded sibling
+        Geometries hierarchy = new Geometries().add(spheres).add(List.of(plane)).buildBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The closest hit is the closest of all the intersections, with and without the hierarchy
+        for (int i = 0; i < 500; ++i) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, 150),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            var expected = ray.findClosestGeoPoint(geometries.findGeoIntersections(ray));
+            assertEquals(expected, geometries.findClosestGeoIntersection(ray), "Wrong closest point");
+            assertEquals(expected, hierarchy.findClosestGeoIntersection(ray), "Wrong closest point in hierarchy");
+        }
+        // TC02: The closest hit is in a node that the ray enters after the node of a farther hit:
+        // the box of the large sphere is entered first, but the ray hits the small spheres before it
+        Sphere large = new Sphere(new Point(85, 50, 60), 40);
+        Sphere near = new Sphere(new Point(50, 50, 90), 2);
+        Sphere small = new Sphere(new Point(50, 50, 80), 2);
+        Geometries nodes = new Geometries(large, near, small).buildBVH();
+        Ray down = new Ray(new Point(50, 50, 150), new Vector(0, 0, -1));
+        var closest = nodes.findClosestGeoIntersection(down);
+        assertEquals(new Geometries(large, near, small).findClosestGeoIntersection(down), closest,
+                "Wrong closest point in hierarchy");
+        assertEquals(near, closest.geometry, "Closest hit isn't in the farther node");
+        assertEquals(new Point(50, 50, 92), closest.point, "Wrong closest point in the farther node");
+
+        // =============== Boundary Values Tests ==============
+        // TC03: The closest intersection is beyond the max distance
+        Ray ray = new Ray(new Point(-50, -50, 0), new Vector(0, 0, -1));
+        assertNull(geometries.findClosestGeoIntersection(ray, 5));
+        // TC04: The ray misses all the geometries
+        assertNull(hierarchy.findClosestGeoIntersection(new Ray(new Point(-50, -50, 0), new Vector(-1, 0, 0))));
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findTransparency(Ray, double, Double3)}.
+     */
+    @Test
+    void testFindTransparency() {
+        Double3 minK = new Double3(0.001);
+        Geometries geometries = new Geometries(
+                new Sphere(new Point(0, 0, 10), 1).setMaterial(new Material().setKt(0.5)),
+                new Sphere(new Point(0, 0, 20), 1).setMaterial(new Material().setKt(0.5)),
+                new Sphere(new Point(0, 0, 30), 1),
+                new Sphere(new Point(5, 0, 0), 1)).buildBVH();
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The light is beyond a transparent sphere - both of its surfaces attenuate the light
+        assertEquals(new Double3(0.25), geometries.findTransparency(ray, 15, minK), "Wrong transparency");
+        // TC02: The light is beyond an opaque sphere
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 100, minK), "Opaque sphere doesn't block");
+        // TC03: The light is inside a transparent sphere - only its first surface attenuates the light
+        assertEquals(new Double3(0.125), geometries.findTransparency(ray, 20, minK), "Wrong transparency");
+
+        // =============== Boundary Values Tests ==============
+        // TC04: The light is before all the spheres
+        assertEquals(Double3.ONE, geometries.findTransparency(ray, 5, minK), "Nothing should block the light");
+        // TC05: The transparency drops below the threshold
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 25, new Double3(0.1)), "Transparency below threshold");
+    }
+}
@@ -0,0 +1,49 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing IntersectionCounters
+ *
+ * @author Avidan and Ziv
+ */
+class IntersectionCountersTests {
+    /**
+     * Test method for {@link geometries.IntersectionCounters#start()} and {@link geometries.IntersectionCounters#stop()}.
+     */
+    @Test
+    void testCounting() {
+        Geometries geometries = new Geometries(new Sphere(new Point(0, 0, 5), 1d), new Sphere(new Point(0, 0, 10), 1d),
+                new Triangle(new Point(-1, -1, 20), new Point(1, -1, 20), new Point(0, 1, 20)));
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Intersection tests are counted by geometry class, with the box tests
+        IntersectionCounters.start();
+        geometries.findGeoIntersections(ray);
+        IntersectionCounters counters = IntersectionCounters.stop();
+        assertEquals(2, counters.getTests(Sphere.class), "Wrong amount of sphere tests");
+        assertEquals(1, counters.getTests(Triangle.class), "Wrong amount of triangle tests");
+        assertEquals(3, counters.getTotalTests(), "Wrong amount of tests");
+        assertTrue(counters.getBoxTests() > 0, "Box tests weren't counted");
+        // TC02: Counters are summed
+        IntersectionCounters sum = new IntersectionCounters();
+        sum.add(counters);
+        sum.add(counters);
+        assertEquals(4, sum.getTests(Sphere.class), "Wrong sum of sphere tests");
+        assertEquals(2 * counters.getBoxTests(), sum.getBoxTests(), "Wrong sum of box tests");
+        assertEquals(2, sum.getTests().size(), "Wrong tested classes");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Nothing is counted after the counting stopped
+        geometries.findGeoIntersections(ray);
+        assertEquals(3, counters.getTotalTests(), "Counted after the counting stopped");
+        assertNull(IntersectionCounters.stop(), "Thread doesn't count");
+        // TC04: Untested class
+        assertEquals(0, counters.getTests(Plane.class), "Plane wasn't tested");
+    }
+}
@@ -0,0 +1,161 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing MeshLoader
+ *
+ * @author Avidan and Ziv
+ */
+class MeshLoaderTests {
+    /**
+     * Folder for the mesh files
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * Test method for {@link geometries.MeshLoader#loadObj(Path)}.
+     */
+    @Test
+    void testLoadObj() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Unit square as a quad with texture and normal indices, comments and other statements
+        Path square = Files.writeString(folder.resolve("square.obj"), """
+                # unit square
+                o square
+                v 0 0 0
+                v 1.0 0 0
+                v 1 1e0 0.0
+                v 0 1 -0
+                vt 0 0
+                vn 0 0 1
+                s off
+                f 1/1/1 2/1/1 3/1/1 4/1/1
+                """);
+        Mesh mesh = MeshLoader.load(square);
+        assertEquals(4, mesh.getVertexCount(), "Wrong amount of vertices");
+        assertEquals(2, mesh.getFaceCount(), "Quad should be split into two faces");
+        assertEquals(List.of(new Point(0.2, 0.7, 0)),
+                mesh.findIntersections(new Ray(new Point(0.2, 0.7, 1), new Vector(0, 0, -1))), "Wrong surface");
+        assertEquals(new Vector(0, 0, 1), mesh.getNormal(1), "Wrong face orientation");
+
+        // TC02: Relative indices and Windows line ends
+        Path relative = Files.writeString(folder.resolve("relative.obj"),
+                "v -1 -1 2\r\nv 1 -1 2\r\nv 0 1 2\r\nf -3 -2 -1\r\n");
+        mesh = MeshLoader.loadObj(relative);
+        assertEquals(List.of(new Point(0, 0, 2)),
+                mesh.findIntersections(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1))), "Wrong relative face");
+
+        // TC03: Face with a missing vertex
+        Path broken = Files.writeString(folder.resolve("broken.obj"), "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 4\n");
+        assertThrows(IllegalArgumentException.class, () -> MeshLoader.loadObj(broken), "Loaded a broken face");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: Large file parsed in several chunks, with relative indices across the chunk borders
+        StringBuilder builder = new StringBuilder();
+        int count = 120_000;
+        for (int i = 0; i < count; ++i) {
+            builder.append("v ").append(i).append(".125 0.000000000000 0.50000000000000\n");
+            builder.append("v ").append(i).append(".875 0.000000000000 0.50000000000000\n");
+            builder.append("v ").append(i).append(".5 1.0000000000000 0.50000000000000\n");
+            builder.append(i % 2 == 0 ? "f -3 -2 -1\n" : "f " + (3 * i + 1) + ' ' + (3 * i + 2) + ' ' + (3 * i + 3) + '\n');
+        }
+        Path large = Files.writeString(folder.resolve("large.obj"), builder);
+        mesh = MeshLoader.loadObj(large);
+        assertEquals(3 * count, mesh.getVertexCount(), "Wrong amount of vertices");
+        assertEquals(count, mesh.getFaceCount(), "Wrong amount of faces");
+        for (int i = 0; i < count; i += 997)
+            assertEquals(List.of(new Point(i + 0.5, 0.5, 0.5)),
+                    mesh.findIntersections(new Ray(new Point(i + 0.5, 0.5, -1), new Vector(0, 0, 1))),
+                    "Wrong face " + i);
+        // TC05: Unknown format
+        assertThrows(IllegalArgumentException.class, () -> MeshLoader.load(folder.resolve("mesh.stl")),
+                "Loaded an unknown format");
+    }
+
+    /**
+     * Test method for {@link geometries.MeshLoader#loadPly(Path)}.
+     */
+    @Test
+    void testLoadPly() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Little endian square with an extra vertex property, a face flag and an extra element
+        Path little = folder.resolve("little.ply");
+        Files.write(little, ply(ByteOrder.LITTLE_ENDIAN));
+        Mesh mesh = MeshLoader.load(little);
+        assertEquals(4, mesh.getVertexCount(), "Wrong amount of vertices");
+        assertEquals(2, mesh.getFaceCount(), "Quad should be split into two faces");
+        assertEquals(List.of(new Point(0.2, 0.7, 0)),
+                mesh.findIntersections(new Ray(new Point(0.2, 0.7, 1), new Vector(0, 0, -1))), "Wrong surface");
+        assertEquals(new Vector(0, 0, 1), mesh.getNormal(0), "Wrong face orientation");
+
+        // TC02: Big endian square
+        Path big = folder.resolve("big.ply");
+        Files.write(big, ply(ByteOrder.BIG_ENDIAN));
+        mesh = MeshLoader.loadPly(big);
+        assertEquals(List.of(new Point(0.7, 0.2, 0)),
+                mesh.findIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1))), "Wrong surface");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: ASCII PLY isn't supported
+        Path ascii = Files.writeString(folder.resolve("ascii.ply"),
+                "ply\nformat ascii 1.0\nelement vertex 0\nend_header\n");
+        assertThrows(IllegalArgumentException.class, () -> MeshLoader.loadPly(ascii), "Loaded an ASCII file");
+        // TC04: Body shorter than the header declares - in the vertices, in the face list and in the extra element
+        byte[] bytes = ply(ByteOrder.LITTLE_ENDIAN);
+        int body = new String(bytes, StandardCharsets.US_ASCII).indexOf("end_header\n") + "end_header\n".length();
+        for (int length : new int[]{body + 20, body + 4 * 13 + 5, bytes.length - 2}) {
+            Path truncated = Files.write(folder.resolve("truncated" + length + ".ply"), Arrays.copyOf(bytes, length));
+            assertThrows(IllegalArgumentException.class, () -> MeshLoader.loadPly(truncated),
+                    "Loaded a truncated file of " + length + " bytes");
+        }
+        // TC05: Header lines without their values
+        for (String line : new String[]{"format", "element vertex", "element vertex x", "property float",
+                "property list uchar int"}) {
+            Path header = Files.writeString(folder.resolve(line.replace(" ", "_") + ".ply"),
+                    "ply\nformat binary_little_endian 1.0\nelement vertex 0\n" + line + "\nend_header\n");
+            assertThrows(IllegalArgumentException.class, () -> MeshLoader.loadPly(header),
+                    "Loaded a header with '" + line + "'");
+        }
+    }
+
+    /**
+     * Creates a binary PLY file of the unit square
+     *
+     * @param order the byte order of the file
+     * @return the file content
+     */
+    private static byte[] ply(ByteOrder order) {
+        String header = "ply\nformat " + (order == ByteOrder.LITTLE_ENDIAN ? "binary_little_endian" : "binary_big_endian")
+                + " 1.0\ncomment square\nelement vertex 4\nproperty float x\nproperty float y\nproperty float z\n"
+                + "property uchar red\nelement face 1\nproperty uchar flags\nproperty list uchar int vertex_indices\n"
+                + "element edge 1\nproperty int vertex1\nproperty int vertex2\nend_header\n";
+        byte[] bytes = header.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4 * 13 + 1 + 1 + 16 + 8).order(order);
+        buffer.put(bytes);
+        float[][] vertices = {{0, 0, 0}, {1, 0, 0}, {1, 1, 0}, {0, 1, 0}};
+        for (float[] vertex : vertices) {
+            for (float value : vertex) buffer.putFloat(value);
+            buffer.put((byte) 255);
+        }
+        buffer.put((byte) 7).put((byte) 4).putInt(0).putInt(1).putInt(2).putInt(3);
+        buffer.putInt(0).putInt(1);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,170 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing Mesh
+ *
+ * @author Avidan and Ziv
+ */
+class MeshTests {
+    /**
+     * Unit square in the XY plane, made of two faces that share the diagonal
+     */
+    private final Mesh square = new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, new int[]{0, 1, 2, 0, 2, 3});
+
+    /**
+     * Test method for {@link geometries.Mesh#Mesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Correct mesh
+        assertEquals(4, square.getVertexCount(), "Wrong amount of vertices");
+        assertEquals(2, square.getFaceCount(), "Wrong amount of faces");
+        // TC02: Vertices are not triples
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0, 1}, new int[]{0, 0, 0}),
+                "Constructed a mesh with broken vertices");
+        // TC03: Faces are not triples
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0}, new int[]{0, 0}),
+                "Constructed a mesh with broken faces");
+        // TC04: Face refers to a missing vertex
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[]{0, 0, 0}, new int[]{0, 0, 1}),
+                "Constructed a mesh with a missing vertex");
+        // =============== Boundary Values Tests ==================
+        // TC05: Empty mesh
+        assertThrows(IllegalArgumentException.class, () -> new Mesh(new double[0], new int[0]),
+                "Constructed an empty mesh");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#getNormal(int)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Normal of every face by its vertex order, also reported by the intersection
+        assertEquals(new Vector(0, 0, 1), square.getNormal(0), "Wrong normal of the first face");
+        assertEquals(new Vector(0, 0, 1), square.getNormal(1), "Wrong normal of the second face");
+        GeoPoint gp = square.findClosestGeoIntersection(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1)));
+        assertEquals(new Vector(0, 0, 1), gp.geometry.getNormal(gp.point), "Wrong normal of the intersection");
+        // TC02: Normal of the mesh at a point is the normal of its face
+        Mesh box = box();
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(0.7, 0.2, 0)), "Wrong normal of the mesh");
+        assertEquals(new Vector(1, 0, 0), box.getNormal(new Point(1, 0.3, 0.6)), "Wrong normal of the side");
+        assertEquals(new Vector(0, 0, -1), box.getNormal(new Point(0.3, 0.6, 0)), "Wrong normal of the bottom");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Point on the edge between two faces of another side
+        assertEquals(new Vector(0, 1, 0), box.getNormal(new Point(0.5, 1, 0.5)), "Wrong normal on the edge");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findGeoIntersections(Ray, double)}.
+     */
+    @Test
+    void testFindIntersections() {
+        Mesh box = box();
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray crosses the first face (1 point)
+        assertEquals(List.of(new Point(0.7, 0.2, 0)),
+                square.findIntersections(new Ray(new Point(0.7, 0.2, 1), new Vector(0, 0, -1))),
+                "Wrong intersection with the first face");
+        // TC02: Ray crosses the second face (1 point)
+        assertEquals(List.of(new Point(0.2, 0.7, 0)),
+                square.findIntersections(new Ray(new Point(0.2, 0.7, 1), new Vector(0, 0, -1))),
+                "Wrong intersection with the second face");
+        // TC03: Ray misses the mesh (0 points)
+        assertNull(square.findIntersections(new Ray(new Point(2, 2, 1), new Vector(0, 0, -1))),
+                "Ray out of the mesh");
+        // TC04: Ray crosses a closed mesh (2 points)
+        assertEquals(2, box.findIntersections(new Ray(new Point(0.3, 0.6, -5), new Vector(0, 0, 1))).size(),
+                "Wrong amount of intersections with the box");
+        // TC05: Intersections are limited by the max distance (1 point)
+        assertEquals(1, box.findGeoIntersections(new Ray(new Point(0.3, 0.6, -5), new Vector(0, 0, 1)), 5.5).size(),
+                "Intersection beyond the max distance");
+        // =============== Boundary Values Tests ==================
+        // TC06: Ray crosses the shared edge of two faces (0 points)
+        assertNull(square.findIntersections(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))),
+                "Intersection on the edge should be out of the mesh");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findClosestGeoIntersection(Ray)}
+     * and {@link geometries.Mesh#findTransparency(Ray, double, Double3)}.
+     */
+    @Test
+    void testQueries() {
+        Mesh box = box();
+        Material material = new Material().setKt(0.5);
+        box.setMaterial(material);
+        Ray ray = new Ray(new Point(0.3, 0.6, -5), new Vector(0, 0, 1));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Closest intersection is on the near side of the box, on a face of the material of the box
+        GeoPoint closest = box.findClosestGeoIntersection(ray);
+        assertEquals(new Point(0.3, 0.6, 0), closest.point, "Wrong closest intersection");
+        assertSame(material, closest.geometry.getMaterial(), "Face doesn't share the material of the mesh");
+        // TC02: Transparency of both sides of the box
+        assertEquals(new Double3(0.25), box.findTransparency(ray, 10, new Double3(0.001)), "Wrong transparency");
+        // TC03: Transparency of the near side only
+        assertEquals(new Double3(0.5), box.findTransparency(ray, 5.5, new Double3(0.001)), "Wrong partial transparency");
+        // =============== Boundary Values Tests ==================
+        // TC04: Transparency drops below the threshold
+        assertEquals(Double3.ZERO, box.findTransparency(ray, 10, new Double3(0.4)), "Ray should be blocked");
+
+        // TC05: Closest intersection of a random mesh is the closest one of its faces as triangles
+        Random random = new Random(11);
+        int count = 300;
+        double[] vertices = new double[9 * count];
+        int[] faces = new int[3 * count];
+        Geometries triangles = new Geometries();
+        for (int f = 0; f < count; ++f) {
+            double x = random.nextDouble() * 20 - 10, y = random.nextDouble() * 20 - 10, z = random.nextDouble() * 20;
+            Point[] points = new Point[3];
+            for (int i = 0; i < 3; ++i) {
+                points[i] = new Point(x + random.nextDouble() * 3, y + random.nextDouble() * 3, z + random.nextDouble() * 3);
+                vertices[9 * f + 3 * i] = points[i].getX();
+                vertices[9 * f + 3 * i + 1] = points[i].getY();
+                vertices[9 * f + 3 * i + 2] = points[i].getZ();
+                faces[3 * f + i] = 3 * f + i;
+            }
+            triangles.add(new Triangle(points[0], points[1], points[2]));
+        }
+        Mesh mesh = new Mesh(vertices, faces);
+        for (int i = 0; i < 200; ++i) {
+            Ray r = new Ray(new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10, -5),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            GeoPoint expected = triangles.findClosestGeoIntersection(r);
+            GeoPoint actual = mesh.findClosestGeoIntersection(r);
+            assertEquals(expected == null ? null : expected.point, actual == null ? null : actual.point,
+                    "Mesh and triangles disagree");
+        }
+    }
+
+    /**
+     * @return closed unit box mesh
+     */
+    private static Mesh box() {
+        return new Mesh(new double[]{
+                0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0,
+                0, 0, 1, 1, 0, 1, 1, 1, 1, 0, 1, 1},
+                new int[]{
+                        0, 2, 1, 0, 3, 2,
+                        4, 5, 6, 4, 6, 7,
+                        0, 1, 5, 0, 5, 4,
+                        3, 6, 2, 3, 7, 6,
+                        0, 4, 7, 0, 7, 3,
+                        1, 2, 6, 1, 6, 5});
+    }
+}
@@ -2,8 +2,11 @@ package geometries;
 
 import org.junit.jupiter.api.Test;
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static primitives.Util.isZero;
 
@@ -92,7 +95,7 @@ public class PolygonTests {
      */
     @Test
     void testFindIntersections() {
-/*        Polygon polygon = new Polygon(new Point(1, 0, 0),
+        Polygon polygon = new Polygon(new Point(1, 0, 0),
                 new Point(0, 1, 0), new Point(1, 2, 0), new Point(2, 1, 0));
 
         //==============Equivalence partition tests=================
@@ -124,7 +127,7 @@ public class PolygonTests {
                 "intersection on the edge should be out of polygon");
         //TC06: intersection is on the edge's continuation (0 points)
         assertNull(polygon.findIntersections(new Ray(new Point(2, 3, -5), new Vector(0, 0, 1))),
-                "intersection on the edge continuation should be out of polygon");*/
+                "intersection on the edge continuation should be out of polygon");
     }
 }
 
@@ -72,4 +72,32 @@ class TriangleTests {
         assertNull(triangle.findIntersections(new Ray(new Point(2, 1, -1), new Vector(0, 0, 1))),
                 "intersection on the edge continuation should be out of triangle");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Triangle#intersect(primitives.Ray, double, double[])}.
+     */
+    @Test
+    void testIntersect() {
+        Triangle triangle = new Triangle(new Point(1, 1, 0), new Point(-1, 1, 0), new Point(0, 3, 0));
+        double[] barycentric = new double[2];
+        //==============Equivalence partition tests=================
+        //TC01: Ray hits the triangle inside (distance and barycentric coordinates)
+        assertEquals(1, triangle.intersect(new Ray(new Point(0, 1.5, -1), new Vector(0, 0, 1)),
+                Double.POSITIVE_INFINITY, barycentric), 1e-10, "Wrong distance to the triangle");
+        assertEquals(0.375, barycentric[0], 1e-10, "Wrong weight of the second vertex");
+        assertEquals(0.25, barycentric[1], 1e-10, "Wrong weight of the third vertex");
+        //TC02: Ray misses the triangle (-1)
+        assertEquals(-1, triangle.intersect(new Ray(new Point(0, 0.5, -1), new Vector(0, 0, 1)),
+                Double.POSITIVE_INFINITY, null), "Ray out of triangle should miss");
+        //TC03: Ray starts after the triangle (-1)
+        assertEquals(-1, triangle.intersect(new Ray(new Point(0, 1.5, 1), new Vector(0, 0, 1)),
+                Double.POSITIVE_INFINITY, null), "Ray starting after the triangle should miss");
+        //==============Boundary values tests=================
+        //TC04: Ray is parallel to the triangle (-1)
+        assertEquals(-1, triangle.intersect(new Ray(new Point(0, 1.5, 1), new Vector(0, 1, 0)),
+                Double.POSITIVE_INFINITY, null), "Parallel ray should miss");
+        //TC05: Intersection is beyond the max distance (-1)
+        assertEquals(-1, triangle.intersect(new Ray(new Point(0, 1.5, -1), new Vector(0, 0, 1)),
+                0.5, null), "Intersection beyond the max distance should be ignored");
+    }
+}
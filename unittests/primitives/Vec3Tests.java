@@ -0,0 +1,57 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for primitives.Vec3 class
+ *
+ * @author Avidan and Ziv
+ */
+class Vec3Tests {
+    final Vector v1 = new Vector(1, 2, 3);
+    final Vector v3 = new Vector(0, 3, -2);
+
+    /**
+     * Test method for {@link primitives.Vec3#addScaled(primitives.Point, double)}.
+     */
+    @Test
+    void testAddScaled() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The result matches the immutable operations
+        Point p = new Point(1, -1, 4);
+        assertEquals(p.add(v1.scale(2.5)), new Vec3().set(p).addScaled(v1, 2.5).toPoint(),
+                "ERROR: Vec3 addScaled does not work correctly");
+    }
+
+    /**
+     * Test method for {@link primitives.Vec3#cross(primitives.Vec3, primitives.Vec3)}.
+     */
+    @Test
+    void testCross() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The result matches the immutable cross product
+        assertEquals(v1.crossProduct(v3), new Vec3().cross(new Vec3().set(v1), new Vec3().set(v3)).toVector(),
+                "ERROR: Vec3 cross product does not work correctly");
+
+        // =============== Boundary Values Tests ==================
+        // TC02: Parallel vectors give a zero triad that can't be a vector
+        Vec3 parallel = new Vec3().cross(new Vec3().set(v1), new Vec3().set(v1).scale(-2));
+        assertEquals(0, parallel.lengthSquared(), "ERROR: cross product of parallel vectors is not zero");
+        assertThrows(IllegalArgumentException.class, parallel::toVector, "ERROR: zero vector need to throw an exception");
+    }
+
+    /**
+     * Test method for {@link primitives.Vec3#normalize()}.
+     */
+    @Test
+    void testNormalize() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The result matches the immutable normalization, and the operations chain in place
+        Vec3 v = new Vec3().sub(new Point(2, 4, 6), new Point(1, 2, 3));
+        assertSame(v, v.normalize(), "ERROR: Vec3 operations must update in place");
+        assertEquals(v1.normalize(), v.toVector(), "ERROR: Vec3 normalize does not work correctly");
+        assertEquals(v1.normalize().dotProduct(v3), v.dot(v3), 1e-12, "ERROR: Vec3 dot product does not work correctly");
+    }
+}
@@ -0,0 +1,103 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing ApertureSampler
+ *
+ * @author Avidan and Ziv
+ */
+class ApertureSamplerTests {
+    /**
+     * Test method for {@link renderer.ApertureSampler#sample}.
+     */
+    @Test
+    void testSample() {
+        ApertureSampler[] samplers = {ApertureSampler.random(), ApertureSampler.stratified(),
+                ApertureSampler.halton(), ApertureSampler.blueNoise()};
+        SplittableRandom random = new SplittableRandom(3);
+        double[] point = new double[2];
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: All the samples are on the unit disk and centered around the disk center
+        for (ApertureSampler sampler : samplers) {
+            double sumX = 0, sumY = 0;
+            int count = 4096;
+            for (int k = 0; k < count; ++k) {
+                sampler.sample(k / 64, k % 64, 64, random, point);
+                assertTrue(point[0] * point[0] + point[1] * point[1] <= 1 + 1e-12, "Sample out of the disk");
+                sumX += point[0];
+                sumY += point[1];
+            }
+            assertEquals(0, sumX / count, 0.05, "Samples aren't centered");
+            assertEquals(0, sumY / count, 0.05, "Samples aren't centered");
+        }
+
+        // TC02: Evenly spread samples have a lower error of the mean than independent random ones
+        double randomError = meanError(ApertureSampler.random(), random);
+        assertTrue(meanError(ApertureSampler.stratified(), random) < randomError, "Stratified samples aren't spread");
+        assertTrue(meanError(ApertureSampler.halton(), random) < randomError, "Halton samples aren't spread");
+        assertTrue(meanError(ApertureSampler.blueNoise(), random) < randomError, "Blue-noise samples aren't spread");
+
+        // TC03: Deterministic samplers repeat in a pixel and differ between pixels
+        double[] other = new double[2];
+        ApertureSampler.halton().sample(7, 3, 16, random, point);
+        ApertureSampler.halton().sample(7, 3, 16, random, other);
+        assertArrayEquals(point, other, "Halton sample isn't repeated");
+        ApertureSampler.halton().sample(8, 3, 16, random, other);
+        assertNotEquals(point[0], other[0], "Halton samples of neighbour pixels are the same");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: Corners of the square are mapped onto the circle, its center onto the disk center
+        ApertureSamplers.toDisk(1, 1, point);
+        assertEquals(1, Math.hypot(point[0], point[1]), 1e-12, "Corner not on the circle");
+        ApertureSamplers.toDisk(0.5, 0.5, point);
+        assertArrayEquals(new double[]{0, 0}, point, "Center not on the disk center");
+        // TC05: Radical inverse
+        assertEquals(0.375, ApertureSamplers.radicalInverse(6, 2), 1e-12, "Wrong radical inverse in base 2");
+        assertEquals(7 / 9d, ApertureSamplers.radicalInverse(5, 3), 1e-12, "Wrong radical inverse in base 3");
+        // TC06: Amount of samples that isn't a square covers all the disk evenly
+        for (int count : new int[]{70, 2, 3}) {
+            double sumX = 0, sumY = 0;
+            for (int pixel = 0; pixel < 200; ++pixel)
+                for (int k = 0; k < count; ++k) {
+                    ApertureSampler.stratified().sample(pixel, k, count, random, point);
+                    sumX += point[0];
+                    sumY += point[1];
+                }
+            assertEquals(0, sumX / (200 * count), 0.02, "Samples of " + count + " aren't centered");
+            assertEquals(0, sumY / (200 * count), 0.02, "Samples of " + count + " aren't centered");
+        }
+        // TC07: Seeded generator of the thread repeats the values of a generator of the same seed
+        SplittableRandom expected = new SplittableRandom(42);
+        var seeded = ApertureSamplers.seeded(42);
+        for (int k = 0; k < 4; ++k)
+            assertEquals(expected.nextDouble(), seeded.nextDouble(), "Seeded generator differs");
+    }
+
+    /**
+     * Estimates the mean of a function over the disk (the x coordinate squared, whose mean is 1/4)
+     * by 16 samples per pixel, and averages the absolute error over many pixels
+     *
+     * @param sampler the sampler
+     * @param random  random generator
+     * @return the average absolute error
+     */
+    private static double meanError(ApertureSampler sampler, SplittableRandom random) {
+        double[] point = new double[2];
+        double error = 0;
+        int pixels = 500;
+        for (int pixel = 0; pixel < pixels; ++pixel) {
+            double sum = 0;
+            for (int k = 0; k < 16; ++k) {
+                sampler.sample(pixel, k, 16, random, point);
+                sum += point[0] * point[0];
+            }
+            error += Math.abs(sum / 16 - 0.25);
+        }
+        return error / pixels;
+    }
+}
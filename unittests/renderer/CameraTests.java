@@ -1,11 +1,19 @@
 package renderer;
 
 import org.junit.jupiter.api.Test;
+import primitives.Color;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
+import scene.Scene;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Testing Camera Class
@@ -56,4 +64,152 @@ class CameraTest {
 
     }
 
+    /**
+     * Test method for {@link renderer.Camera#setAdaptiveDof(double, int)}.
+     */
+    @Test
+    void testAdaptiveDof() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Samples that agree stop after the first batch (center ray and a batch of aperture rays)
+        assertEquals(10 * 10 * (1 + 4), tracedRays(ray -> new Color(50, 60, 70), 1), "Uniform pixels oversampled");
+        // TC02: Noisy samples go on up to all the rays
+        assertEquals(10 * 10 * (1 + 40), tracedRays(ray -> new Color(255 * Math.random(), 0, 0), 1),
+                "Noisy pixels undersampled");
+        // =============== Boundary Values Tests ==================
+        // TC03: Threshold 0 traces all the rays
+        assertEquals(10 * 10 * (1 + 40), tracedRays(ray -> new Color(50, 60, 70), 0), "Adaptive sampling wasn't disabled");
+        // TC04: Wrong parameters
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> camera.setAdaptiveDof(-1, 4), "Negative threshold");
+        assertThrows(IllegalArgumentException.class, () -> camera.setAdaptiveDof(1, 0), "Empty batch");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#setSeed(long)}.
+     */
+    @Test
+    void testSeed() {
+        FrameBuffer single = seededImage(7, 0, TileOrder.SCANLINE, ApertureSampler.random());
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Same seed renders the same image by any amount of threads and tile order
+        assertArrayEquals(pixels(single), pixels(seededImage(7, 4, TileOrder.SPIRAL, ApertureSampler.random())),
+                "Seeded render depends on the threads");
+        assertArrayEquals(pixels(seededImage(7, 0, TileOrder.SCANLINE, ApertureSampler.stratified())),
+                pixels(seededImage(7, 3, TileOrder.HILBERT, ApertureSampler.stratified())),
+                "Seeded stratified render depends on the threads");
+        // TC02: Another seed renders another image
+        assertFalse(Arrays.equals(pixels(single), pixels(seededImage(8, 0, TileOrder.SCANLINE, ApertureSampler.random()))),
+                "Seed is ignored");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderProgressive(PassListener)}.
+     */
+    @Test
+    void testRenderProgressive() {
+        float[] complete = pixels(seededImage(7, 2, TileOrder.SCANLINE, ApertureSampler.stratified()));
+        List<Integer> passes = new ArrayList<>();
+        ImageWriter imageWriter = new ImageWriter("progressive", 20, 20);
+        seededCamera(7, 2, TileOrder.SCANLINE, ApertureSampler.stratified(), imageWriter)
+                .renderProgressive((pass, total, pixels) -> {
+                    assertEquals(17, total, "Wrong amount of passes");
+                    passes.add(pass);
+                    return true;
+                });
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: All the passes hold the samples of the complete render
+        assertEquals(17, passes.size(), "Wrong amount of passes");
+        assertEquals(List.of(1, 2, 3), passes.subList(0, 3), "Wrong pass numbers");
+        float[] progressive = pixels(imageWriter.getFrameBuffer());
+        for (int k = 0; k < complete.length; ++k)
+            assertEquals(complete[k], progressive[k], 1e-3, "Wrong progressive pixel component " + k);
+        // TC02: Listener stops the rendering
+        passes.clear();
+        seededCamera(7, 2, TileOrder.SCANLINE, ApertureSampler.stratified(), imageWriter)
+                .renderProgressive((pass, total, pixels) -> passes.add(pass) && pass < 3);
+        assertEquals(List.of(1, 2, 3), passes, "Rendering wasn't stopped");
+        // =============== Boundary Values Tests ==================
+        // TC03: Without depth of field there is a single pass
+        passes.clear();
+        seededCamera(7, 2, TileOrder.SCANLINE, ApertureSampler.stratified(), imageWriter).setDof(20, 1, 0)
+                .renderProgressive((pass, total, pixels) -> passes.add(pass));
+        assertEquals(List.of(1), passes, "Image without depth of field should have a single pass");
+    }
+
+    /**
+     * Renders a seeded 20X20 image with 16 depth of field rays per pixel, colored by the ray directions
+     *
+     * @param seed    the seed
+     * @param threads amount of threads
+     * @param order   order of the tiles
+     * @param sampler sampler of the aperture
+     * @return the frame buffer of the image
+     */
+    private static FrameBuffer seededImage(long seed, int threads, TileOrder order, ApertureSampler sampler) {
+        ImageWriter imageWriter = new ImageWriter("seeded", 20, 20);
+        seededCamera(seed, threads, order, sampler, imageWriter).renderImage();
+        return imageWriter.getFrameBuffer();
+    }
+
+    /**
+     * Creates a seeded camera of a 20X20 image with 16 depth of field rays per pixel, colored by the ray directions
+     *
+     * @param seed    the seed
+     * @param threads amount of threads
+     * @param order   order of the tiles
+     * @param sampler     sampler of the aperture
+     * @param imageWriter the image writer
+     * @return the camera
+     */
+    private static Camera seededCamera(long seed, int threads, TileOrder order, ApertureSampler sampler,
+                                       ImageWriter imageWriter) {
+        RayTracerBase tracer = new RayTracerBase(new Scene("seeded")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                Vector dir = ray.getDir();
+                return new Color(100 + 100 * dir.getX(), 100 + 100 * dir.getY(), 100 + 100 * ray.getP0().getX());
+            }
+        };
+        return new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPSize(10, 10).setVPDistance(10).setDof(20, 1, 16).setApertureSampler(sampler).setSeed(seed)
+                .setTileSize(4).setTileOrder(order).setMultithreading(threads)
+                .setImageWriter(imageWriter).setRayTracer(tracer);
+    }
+
+    /**
+     * Collects the components of all the pixels of a frame buffer
+     *
+     * @param frameBuffer the frame buffer
+     * @return the components, pixel by pixel
+     */
+    private static float[] pixels(FrameBuffer frameBuffer) {
+        float[] pixels = new float[3 * frameBuffer.getWidth() * frameBuffer.getHeight()];
+        for (int y = 0, k = 0; y < frameBuffer.getHeight(); ++y)
+            for (int x = 0; x < frameBuffer.getWidth(); ++x)
+                for (int c = 0; c < 3; ++c) pixels[k++] = frameBuffer.get(x, y, c);
+        return pixels;
+    }
+
+    /**
+     * Renders a 10X10 image with 40 depth of field rays per pixel in batches of 4
+     *
+     * @param colors    the color of a ray
+     * @param threshold the adaptive sampling threshold
+     * @return amount of traced rays
+     */
+    private static int tracedRays(Function<Ray, Color> colors, double threshold) {
+        AtomicInteger traced = new AtomicInteger();
+        RayTracerBase tracer = new RayTracerBase(new Scene("adaptive")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                traced.incrementAndGet();
+                return colors.apply(ray);
+            }
+        };
+        new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPSize(10, 10).setVPDistance(10).setDof(20, 1, 40).setAdaptiveDof(threshold, 4)
+                .setImageWriter(new ImageWriter("adaptive", 10, 10)).setRayTracer(tracer)
+                .renderImage();
+        return traced.get();
+    }
 }
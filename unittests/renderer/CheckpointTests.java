@@ -0,0 +1,131 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+import scene.Scene;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing checkpoints of the Camera
+ *
+ * @author Avidan and Ziv
+ */
+class CheckpointTests {
+    /**
+     * Folder for the checkpoint files
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * Image size in pixels
+     */
+    private static final int SIZE = 40;
+
+    /**
+     * Ray tracer that colors a ray by its direction, counts the traced rays,
+     * and fails after a given amount of rays
+     */
+    private static class CountingTracer extends RayTracerBase {
+        /**
+         * amount of traced rays
+         */
+        private final AtomicInteger traced = new AtomicInteger();
+        /**
+         * amount of rays to trace before failing
+         */
+        private final int limit;
+
+        /**
+         * constructor
+         *
+         * @param limit amount of rays to trace before failing
+         */
+        CountingTracer(int limit) {
+            super(new Scene("checkpoint"));
+            this.limit = limit;
+        }
+
+        @Override
+        public Color traceRay(Ray ray) {
+            if (this.traced.incrementAndGet() > this.limit) throw new IllegalStateException("Render crashed");
+            Vector dir = ray.getDir();
+            return new Color(100 + 100 * dir.getX(), 100 + 100 * dir.getY(), 100 * dir.getZ());
+        }
+    }
+
+    /**
+     * Creates a camera of the test image
+     *
+     * @param tracer      the ray tracer
+     * @param imageWriter the image writer
+     * @return the camera
+     */
+    private static Camera camera(RayTracerBase tracer, ImageWriter imageWriter) {
+        return new Camera(new Point(0, 0, 0), new Vector(0, 0, 1), new Vector(0, 1, 0))
+                .setVPSize(2, 2).setVPDistance(1).setTileSize(8).setMultithreading(0)
+                .setImageWriter(imageWriter).setRayTracer(tracer);
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#setCheckpoint(Path, double)}.
+     */
+    @Test
+    void testResume() {
+        Path file = folder.resolve("render.ckpt");
+        ImageWriter expected = new ImageWriter("expected", SIZE, SIZE);
+        camera(new CountingTracer(Integer.MAX_VALUE), expected).renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Failed render leaves a checkpoint of its rendered tiles
+        ImageWriter crashed = new ImageWriter("crashed", SIZE, SIZE);
+        assertThrows(IllegalStateException.class,
+                () -> camera(new CountingTracer(700), crashed).setCheckpoint(file, 1000).renderImage(),
+                "Render should crash");
+        assertTrue(Files.exists(file), "Checkpoint wasn't saved");
+
+        // TC02: Resumed render traces only the missing tiles, and completes the same image
+        CountingTracer tracer = new CountingTracer(Integer.MAX_VALUE);
+        ImageWriter resumed = new ImageWriter("resumed", SIZE, SIZE);
+        camera(tracer, resumed).setCheckpoint(file, 1000).renderImage();
+        // 700 rays completed 10 tiles of 64 pixels
+        assertEquals(SIZE * SIZE - 10 * 64, tracer.traced.get(), "Rendered tiles were rendered again");
+        for (int y = 0; y < SIZE; ++y)
+            for (int x = 0; x < SIZE; ++x)
+                for (int c = 0; c < 3; ++c)
+                    assertEquals(expected.getFrameBuffer().get(x, y, c), resumed.getFrameBuffer().get(x, y, c),
+                            "Wrong resumed pixel " + x + "," + y);
+        // TC03: Complete render deletes the checkpoint
+        assertFalse(Files.exists(file), "Checkpoint of a complete render wasn't deleted");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: Checkpoint of another image size is ignored
+        assertThrows(IllegalStateException.class,
+                () -> camera(new CountingTracer(700), new ImageWriter("crashed", SIZE, SIZE))
+                        .setCheckpoint(file, 1000).renderImage(),
+                "Render should crash");
+        CountingTracer other = new CountingTracer(Integer.MAX_VALUE);
+        camera(other, new ImageWriter("other", SIZE, SIZE / 2)).setCheckpoint(file, 1000).renderImage();
+        assertEquals(SIZE * SIZE / 2, other.traced.get(), "Checkpoint of another image was used");
+        // TC05: Failure to save the checkpoint doesn't hide the failure of the render
+        Path missing = folder.resolve("missing").resolve("render.ckpt");
+        IllegalStateException crash = assertThrows(IllegalStateException.class,
+                () -> camera(new CountingTracer(700), new ImageWriter("crashed", SIZE, SIZE))
+                        .setCheckpoint(missing, 1000).renderImage(),
+                "Render should crash");
+        assertEquals("Render crashed", crash.getMessage(), "Failure of the render was replaced");
+        assertEquals(1, crash.getSuppressed().length, "Failure to save the checkpoint wasn't kept");
+        // TC06: Interval must be positive
+        assertThrows(IllegalArgumentException.class, () -> camera(other, expected).setCheckpoint(file, 0),
+                "Checkpoint interval must be positive");
+    }
+}
@@ -0,0 +1,66 @@
+package renderer;
+
+import geometries.Sphere;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point;
+import primitives.Vector;
+import renderer.CostMap.Metric;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing CostMap
+ *
+ * @author Avidan and Ziv
+ */
+class CostMapTests {
+    /**
+     * Test method for {@link renderer.Camera#setCostMap(CostMap)}.
+     */
+    @Test
+    void testCostMap() {
+        Scene scene = new Scene("cost");
+        scene.geometries.add(new Sphere(new Point(0, 0, -100), 30d).setEmission(new Color(30, 60, 90))
+                .setMaterial(new Material().setKd(0.5).setKs(0.5).setKr(0.5).setNShininess(20)));
+        scene.lights.add(new PointLight(new Color(300, 300, 300), new Point(50, 50, 0)));
+        CostMap costMap = new CostMap(20, 20);
+        Camera camera = new Camera(new Point(0, 0, 0), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(100, 100).setVPDistance(100).setTileSize(5).setMultithreading(2)
+                .setImageWriter(new ImageWriter("cost", 20, 20)).setRayTracer(new RayTracerBasic(scene))
+                .setCostMap(costMap);
+        camera.renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Pixels of the sphere cost more rays than the background
+        assertEquals(1, costMap.get(0, 0, Metric.RAYS), "Background pixel traces the camera ray only");
+        assertTrue(costMap.get(10, 10, Metric.RAYS) > 1, "Sphere pixel traces shadow and secondary rays");
+        assertEquals(0, costMap.get(0, 0, Metric.TESTS), "Background ray misses the box of the scene");
+        assertTrue(costMap.get(10, 10, Metric.TESTS) > 1, "Wrong intersection tests of a sphere pixel");
+        assertTrue(costMap.get(10, 10, Metric.NANOS) > 0, "Render time wasn't measured");
+        // TC02: False colors run from black to white
+        FrameBuffer image = costMap.toImageWriter("rays", Metric.RAYS).getFrameBuffer();
+        int[] brightest = {0, 0};
+        for (int y = 0; y < 20; ++y)
+            for (int x = 0; x < 20; ++x)
+                if (costMap.get(x, y, Metric.RAYS) > costMap.get(brightest[0], brightest[1], Metric.RAYS)) {
+                    brightest[0] = x;
+                    brightest[1] = y;
+                }
+        assertEquals(new Color(255, 255, 255).toString(), image.get(brightest[0], brightest[1]).toString(),
+                "Most expensive pixel should be white");
+        assertTrue(image.get(0, 0, 2) > image.get(0, 0, 0), "Cheap pixel should be blue");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Empty map is black
+        assertEquals(Color.BLACK.toString(),
+                new CostMap(2, 2).toImageWriter("empty", Metric.NANOS).getFrameBuffer().get(1, 1).toString(),
+                "Empty cost map should be black");
+        // TC04: Map of another size
+        assertThrows(IllegalArgumentException.class, () -> camera.setCostMap(new CostMap(10, 20)).renderImage(),
+                "Cost map of another size");
+    }
+}
@@ -0,0 +1,101 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Color;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing FrameBuffer
+ *
+ * @author Avidan and Ziv
+ */
+class FrameBufferTests {
+    /**
+     * Folder for the mapped files
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#set(int, int, Color)}, {@link renderer.FrameBuffer#add}
+     * and {@link renderer.FrameBuffer#addSample}.
+     */
+    @Test
+    void testSetAndAdd() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Colors are kept without clamping, on the heap and off-heap
+        for (FrameBuffer frameBuffer : new FrameBuffer[]{new FrameBuffer(4, 3), FrameBuffer.allocateDirect(4, 3)}) {
+            frameBuffer.set(3, 2, new Color(300, 20.5, 0));
+            assertEquals(300, frameBuffer.get(3, 2, 0), "Wrong red component");
+            assertEquals(20.5, frameBuffer.get(3, 2, 1), "Wrong green component");
+            // TC02: Colors are accumulated
+            frameBuffer.add(3, 2, 1, 2, 3);
+            assertEquals(new Color(301, 22.5, 3).toString(), frameBuffer.get(3, 2).toString(), "Wrong sum");
+            // TC03: Other pixels are untouched
+            assertEquals(0, frameBuffer.get(2, 2, 0), "Neighbour pixel changed");
+            // TC04: Samples are averaged, the first sample replaces the pixel
+            frameBuffer.addSample(0, 1, 10, 20, 30, 1);
+            frameBuffer.addSample(0, 1, 20, 40, 60, 2);
+            frameBuffer.addSample(0, 1, 30, 60, 0, 3);
+            assertEquals(new Color(20, 40, 30).toString(), frameBuffer.get(0, 1).toString(), "Wrong mean");
+        }
+        assertTrue(FrameBuffer.allocateDirect(1, 1).isDirect(), "Frame buffer should be off-heap");
+        assertFalse(new FrameBuffer(1, 1).isDirect(), "Frame buffer should be on the heap");
+
+        // =============== Boundary Values Tests ==================
+        // TC05: Empty frame buffer
+        assertThrows(IllegalArgumentException.class, () -> new FrameBuffer(0, 5), "Constructed an empty frame buffer");
+    }
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#toneMap(ToneMapping, int[])}.
+     */
+    @Test
+    void testToneMap() {
+        FrameBuffer frameBuffer = new FrameBuffer(2, 2);
+        frameBuffer.set(0, 0, 10.7, 128, 255);
+        frameBuffer.set(1, 1, 1000, 0, 255);
+        int[] pixels = new int[4];
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Components are truncated
+        frameBuffer.toneMap(ToneMapping.CLAMP, pixels);
+        assertEquals(10 << 16 | 128 << 8 | 255, pixels[0], "Wrong 8 bit color");
+        // TC02: Bright components are compressed
+        frameBuffer.toneMap(ToneMapping.REINHARD, pixels);
+        assertEquals(203 << 16 | 127, pixels[3], "Wrong compressed color");
+        // =============== Boundary Values Tests ==================
+        // TC03: Components above 255 are clamped
+        frameBuffer.toneMap(ToneMapping.CLAMP, pixels);
+        assertEquals(255 << 16 | 255, pixels[3], "Bright component should be clamped");
+        assertEquals(0, pixels[1], "Black pixel changed");
+    }
+
+    /**
+     * Test method for {@link renderer.FrameBuffer#map(Path, int, int)}.
+     */
+    @Test
+    void testMap() throws IOException {
+        Path file = folder.resolve("frame.raw");
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Pixels are written into the file
+        FrameBuffer frameBuffer = FrameBuffer.map(file, 40, 30);
+        assertTrue(frameBuffer.isMapped(), "Frame buffer should be mapped");
+        assertTrue(frameBuffer.isDirect(), "Mapped frame buffer should be off-heap");
+        assertEquals(12 * 40 * 30, Files.size(file), "Wrong file size");
+        frameBuffer.set(39, 29, 1, 2, 3000);
+        frameBuffer.force();
+        // TC02: Mapping the file again keeps its pixels
+        assertEquals(3000, FrameBuffer.map(file, 40, 30).get(39, 29, 2), "Pixels of the file were lost");
+        // =============== Boundary Values Tests ==================
+        // TC03: Mapping the file by another size clears it
+        assertEquals(0, FrameBuffer.map(file, 20, 30).get(19, 29, 2), "Resized file should be cleared");
+        assertEquals(12 * 20 * 30, Files.size(file), "Wrong resized file size");
+        assertFalse(new FrameBuffer(1, 1).isMapped(), "Heap frame buffer isn't mapped");
+    }
+}
@@ -0,0 +1,31 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testing PixelManager
+ *
+ * @author Avidan and Ziv
+ */
+class PixelManagerTests {
+    /**
+     * Test method for {@link renderer.PixelManager#pixelsDone(long)}.
+     */
+    @Test
+    void testPixelsDone() {
+        AtomicLong reported = new AtomicLong();
+        PixelManager pixelManager = new PixelManager(4 * 1000 * 16, (done, total) -> reported.set(done), 0.01);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Tiles finished by several threads are all counted and the final progress is reported
+        TileScheduler scheduler = new TileScheduler(1000, 64, 16, TileOrder.SCANLINE);
+        scheduler.run(4, tile -> pixelManager.pixelsDone(tile.size()));
+        pixelManager.close();
+        assertEquals(4 * 1000 * 16, pixelManager.getDone(), "Wrong amount of done pixels");
+        assertEquals(4 * 1000 * 16, reported.get(), "Final progress not reported");
+    }
+}
@@ -0,0 +1,156 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+import scene.Scene;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing asynchronous rendering of the Camera
+ *
+ * @author Avidan and Ziv
+ */
+class RenderAsyncTests {
+    /**
+     * Image size in pixels
+     */
+    private static final int SIZE = 40;
+
+    /**
+     * Ray tracer that colors a ray by its direction, and fails after a given amount of rays
+     */
+    private static class DirectionTracer extends RayTracerBase {
+        /**
+         * amount of traced rays
+         */
+        private final AtomicInteger traced = new AtomicInteger();
+        /**
+         * amount of rays to trace before failing
+         */
+        private final int limit;
+
+        /**
+         * constructor
+         *
+         * @param limit amount of rays to trace before failing
+         */
+        DirectionTracer(int limit) {
+            super(new Scene("async"));
+            this.limit = limit;
+        }
+
+        @Override
+        public Color traceRay(Ray ray) {
+            if (this.traced.incrementAndGet() > this.limit) throw new IllegalStateException("Render crashed");
+            Vector dir = ray.getDir();
+            return new Color(100 + 100 * dir.getX(), 100 + 100 * dir.getY(), 100 * dir.getZ());
+        }
+    }
+
+    /**
+     * Creates a camera of the test image
+     *
+     * @param tracer      the ray tracer
+     * @param imageWriter the image writer
+     * @return the camera
+     */
+    private static Camera camera(RayTracerBase tracer, ImageWriter imageWriter) {
+        return new Camera(new Point(0, 0, 0), new Vector(0, 0, 1), new Vector(0, 1, 0))
+                .setVPSize(2, 2).setVPDistance(1).setTileSize(8).setMultithreading(0)
+                .setImageWriter(imageWriter).setRayTracer(tracer);
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderAsync(java.util.concurrent.Executor, TileListener)}.
+     */
+    @Test
+    void testRenderAsync() throws Exception {
+        ImageWriter expected = new ImageWriter("expected", SIZE, SIZE);
+        camera(new DirectionTracer(Integer.MAX_VALUE), expected).renderImage();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        ExecutorService other = Executors.newFixedThreadPool(2);
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: Tiles are rendered on the executor into the same image, and reported once each
+            Set<Integer> tiles = ConcurrentHashMap.newKeySet();
+            AtomicInteger reports = new AtomicInteger();
+            ImageWriter async = new ImageWriter("async", SIZE, SIZE);
+            FrameBuffer frameBuffer = camera(new DirectionTracer(Integer.MAX_VALUE), async)
+                    .renderAsync(pool, (tile, pixels) -> {
+                        tiles.add(tile.index());
+                        reports.incrementAndGet();
+                    }).get(10, TimeUnit.SECONDS);
+            assertSame(async.getFrameBuffer(), frameBuffer, "Wrong frame buffer");
+            assertEquals(25, tiles.size(), "Tiles weren't reported");
+            assertEquals(25, reports.get(), "Tiles were reported more than once");
+            assertSamePixels(expected.getFrameBuffer(), frameBuffer);
+
+            // TC02: Failed tile fails the future
+            CompletableFuture<FrameBuffer> failed = camera(new DirectionTracer(700),
+                    new ImageWriter("failed", SIZE, SIZE)).renderAsync(pool);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS),
+                    "Render should fail");
+            assertInstanceOf(IllegalStateException.class, e.getCause(), "Wrong failure");
+
+            // TC03: Renders run concurrently on separate executors, and the calling thread isn't blocked
+            CountDownLatch release = new CountDownLatch(1);
+            RayTracerBase blocked = new DirectionTracer(Integer.MAX_VALUE) {
+                @Override
+                public Color traceRay(Ray ray) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.traceRay(ray);
+                }
+            };
+            ImageWriter first = new ImageWriter("first", SIZE, SIZE);
+            Camera camera = camera(blocked, first);
+            CompletableFuture<FrameBuffer> waiting = camera.renderAsync(pool);
+            // the camera is reconfigured for another render while the first one runs
+            ImageWriter second = new ImageWriter("second", SIZE, SIZE);
+            camera.setImageWriter(second).setRayTracer(new DirectionTracer(Integer.MAX_VALUE))
+                    .renderAsync(other).get(10, TimeUnit.SECONDS);
+            assertFalse(waiting.isDone(), "Render should be blocked");
+            release.countDown();
+            assertSame(first.getFrameBuffer(), waiting.get(10, TimeUnit.SECONDS), "Wrong frame buffer");
+            assertSamePixels(expected.getFrameBuffer(), first.getFrameBuffer());
+            assertSamePixels(expected.getFrameBuffer(), second.getFrameBuffer());
+
+            // =============== Boundary Values Tests ==================
+            // TC04: Executor is required
+            assertThrows(IllegalArgumentException.class, () -> camera.renderAsync(null), "Executor can't be null");
+        } finally {
+            pool.shutdownNow();
+            other.shutdownNow();
+        }
+    }
+
+    /**
+     * Asserts that two frame buffers hold the same pixels
+     *
+     * @param expected the expected frame buffer
+     * @param actual   the actual frame buffer
+     */
+    private static void assertSamePixels(FrameBuffer expected, FrameBuffer actual) {
+        for (int y = 0; y < SIZE; ++y)
+            for (int x = 0; x < SIZE; ++x)
+                for (int c = 0; c < 3; ++c)
+                    assertEquals(expected.get(x, y, c), actual.get(x, y, c), "Wrong pixel " + x + "," + y);
+    }
+}
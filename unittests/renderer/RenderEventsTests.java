@@ -0,0 +1,111 @@
+package renderer;
+
+import geometries.Sphere;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+import scene.Scene;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing the flight recorder events of rendering
+ *
+ * @author Avidan and Ziv
+ */
+class RenderEventsTests {
+    /**
+     * Folder for the image, checkpoint and recording files
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * Test method for the flight recorder events of {@link renderer.Camera#renderImage()}.
+     */
+    @Test
+    void testEvents() throws IOException {
+        Scene scene = new Scene("events");
+        scene.geometries.add(new Sphere(new Point(-30, 0, -100), 20d).setEmission(new Color(100, 0, 0)),
+                new Sphere(new Point(30, 0, -100), 20d).setEmission(new Color(0, 100, 0)),
+                new Sphere(new Point(0, 30, -100), 20d).setEmission(new Color(0, 0, 100)));
+        StreamingImageWriter imageWriter = new StreamingImageWriter(folder.resolve("events.ppm"),
+                StreamingImageWriter.Format.PPM, new FrameBuffer(20, 20));
+        Camera camera = new Camera(new Point(0, 0, 0), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(100, 100).setVPDistance(100).setTileSize(10).setMultithreading(2)
+                .setImageWriter(imageWriter).setRayTracer(new RayTracerBasic(scene));
+        Path dump = folder.resolve("render.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("raytracer.SceneCompile", "raytracer.Tile", "raytracer.Encode",
+                    "raytracer.Checkpoint"))
+                recording.enable(name).withThreshold(Duration.ZERO);
+            recording.start();
+            scene.geometries.buildBVH();
+            camera.renderImage();
+            camera.writeToImage();
+            // a render that is stopped by its first tile saves a checkpoint
+            assertThrows(IllegalStateException.class, () -> camera.setCheckpoint(folder.resolve("events.ckpt"), 1000)
+                    .setMultithreading(0).setImageWriter(new ImageWriter("events", 20, 20))
+                    .setRayTracer(new RayTracerBasic(scene) {
+                        @Override
+                        public Color traceRay(Ray ray) {
+                            throw new IllegalStateException("Render crashed");
+                        }
+                    }).renderImage(), "Render should crash");
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Scene compile event holds the hierarchy
+        RecordedEvent compile = only(events, "raytracer.SceneCompile");
+        assertEquals(3, compile.getInt("boundedGeometries"), "Wrong amount of geometries");
+        assertTrue(compile.getInt("nodes") >= 1, "Wrong amount of nodes");
+        // TC02: Every tile has an event with its rays (the tiles of the image and the crashed tile)
+        List<RecordedEvent> tiles = events.stream()
+                .filter(event -> event.getEventType().getName().equals("raytracer.Tile")).toList();
+        assertEquals(5, tiles.size(), "Wrong amount of tile events");
+        assertEquals(400, tiles.stream().mapToLong(event -> event.getLong("cameraRays")).sum(),
+                "Wrong amount of camera rays");
+        assertTrue(tiles.stream().mapToLong(event -> event.getLong("intersectionTests")).sum() > 0,
+                "Intersection tests weren't counted");
+        // TC03: Encode and checkpoint events
+        RecordedEvent encode = only(events, "raytracer.Encode");
+        assertEquals("ppm", encode.getString("format"), "Wrong format");
+        assertEquals(20, encode.getInt("width"), "Wrong width");
+        RecordedEvent checkpoint = only(events, "raytracer.Checkpoint");
+        assertEquals(0, checkpoint.getInt("tiles"), "Crashed render has no tiles");
+        assertTrue(checkpoint.getLong("bytes") > 0, "Wrong checkpoint size");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: Failed tile is recorded without rays
+        assertEquals(1, tiles.stream().filter(event -> event.getLong("cameraRays") == 0).count(),
+                "Failed tile should be recorded without rays");
+    }
+
+    /**
+     * Finds the single event of a type
+     *
+     * @param events the events
+     * @param name   the name of the event type
+     * @return the event
+     */
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> found = events.stream().filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, found.size(), "Wrong amount of " + name + " events");
+        return found.get(0);
+    }
+}
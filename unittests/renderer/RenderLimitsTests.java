@@ -0,0 +1,98 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+import scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing limited progressive rendering
+ *
+ * @author Avidan and Ziv
+ */
+class RenderLimitsTests {
+    /**
+     * Image size in pixels
+     */
+    private static final int SIZE = 20;
+
+    /**
+     * Creates a camera of a 20X20 image with 16 depth of field rays per pixel (17 passes)
+     *
+     * @param delay delay of every traced ray in milliseconds
+     * @return the camera
+     */
+    private static Camera camera(long delay) {
+        RayTracerBase tracer = new RayTracerBase(new Scene("limits")) {
+            @Override
+            public Color traceRay(Ray ray) {
+                if (delay > 0) {
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new Color(100, 100 + 100 * ray.getDir().getX(), 50);
+            }
+        };
+        return new Camera(new Point(0, 0, 0), new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPSize(10, 10).setVPDistance(10).setDof(20, 1, 16).setTileSize(4).setMultithreading(2)
+                .setImageWriter(new ImageWriter("limits", SIZE, SIZE)).setRayTracer(tracer);
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderProgressive(PassListener, RenderLimits)}.
+     */
+    @Test
+    void testRenderProgressive() {
+        List<Integer> passes = new ArrayList<>();
+        PassListener listener = (pass, total, frameBuffer) -> passes.add(pass);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray budget stops before the pass it doesn't suffice for
+        RenderLimits budget = new RenderLimits().setRayBudget(5 * SIZE * SIZE + 100);
+        camera(0).renderProgressive(listener, budget);
+        assertEquals(List.of(1, 2, 3, 4, 5), passes, "Wrong passes within the ray budget");
+        assertEquals(5 * SIZE * SIZE, budget.getTracedRays(), "Wrong amount of traced rays");
+        assertTrue(budget.isReached(), "Ray budget should be reached");
+
+        // TC02: Cancelled rendering stops after the current pass
+        passes.clear();
+        CancellationToken token = new CancellationToken();
+        camera(0).renderProgressive((pass, total, frameBuffer) -> {
+            passes.add(pass);
+            if (pass == 2) token.cancel();
+            return true;
+        }, new RenderLimits().setCancellationToken(token));
+        assertEquals(List.of(1, 2), passes, "Cancelled rendering wasn't stopped");
+
+        // TC03: Time limit stops the rendering in the middle of the first pass
+        passes.clear();
+        RenderLimits time = new RenderLimits().setTimeLimit(0.05);
+        long start = System.nanoTime();
+        camera(1).renderProgressive(listener, time);
+        assertTrue(System.nanoTime() - start < 1_000_000_000L, "Rendering exceeded its time limit");
+        assertTrue(time.isReached(), "Time limit should be reached");
+        assertTrue(time.getTracedRays() > 0 && time.getTracedRays() < SIZE * SIZE, "Wrong amount of traced rays");
+        assertEquals(List.of(), passes, "Incomplete pass was reported");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: Unlimited rendering completes all the passes
+        passes.clear();
+        RenderLimits unlimited = new RenderLimits();
+        camera(0).renderProgressive(listener, unlimited);
+        assertEquals(17, passes.size(), "Unlimited rendering was stopped");
+        assertFalse(unlimited.isReached(), "No limit should be reached");
+        assertEquals(17 * SIZE * SIZE, unlimited.getTracedRays(), "Wrong amount of traced rays");
+        // TC05: Limits must be positive
+        assertThrows(IllegalArgumentException.class, () -> new RenderLimits().setTimeLimit(0), "Zero time limit");
+        assertThrows(IllegalArgumentException.class, () -> new RenderLimits().setRayBudget(0), "Zero ray budget");
+    }
+}
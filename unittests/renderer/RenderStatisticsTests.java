@@ -0,0 +1,65 @@
+package renderer;
+
+import geometries.Sphere;
+import geometries.Triangle;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.Material;
+import primitives.Point;
+import primitives.Vector;
+import renderer.RenderStatistics.Phase;
+import renderer.RenderStatistics.RayType;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing RenderStatistics
+ *
+ * @author Avidan and Ziv
+ */
+class RenderStatisticsTests {
+    /**
+     * Test method for {@link renderer.Camera#setStatistics(RenderStatistics)}.
+     */
+    @Test
+    void testStatistics() {
+        Scene scene = new Scene("statistics");
+        scene.geometries.add(new Sphere(new Point(0, 0, -50), 20d).setEmission(new Color(30, 60, 90))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setKr(0.3).setNShininess(20)),
+                new Triangle(new Point(-60, -60, -80), new Point(60, -60, -80), new Point(0, 60, -80))
+                        .setEmission(new Color(60, 30, 0)).setMaterial(new Material().setKd(0.5)));
+        scene.lights.add(new PointLight(new Color(300, 300, 300), new Point(30, 30, 0)));
+        RenderStatistics statistics = new RenderStatistics();
+        Camera camera = new Camera(new Point(0, 0, 100), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(100, 100).setVPDistance(100).setDof(150, 2, 4).setTileSize(5).setMultithreading(2)
+                .setImageWriter(new ImageWriter("statistics", 20, 20)).setRayTracer(new RayTracerBasic(scene))
+                .setStatistics(statistics);
+        camera.renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Rays of every type are counted
+        assertEquals(16, statistics.getTiles(), "Wrong amount of tiles");
+        assertEquals(400, statistics.getRays(RayType.CAMERA), "Wrong amount of camera rays");
+        assertEquals(1600, statistics.getRays(RayType.APERTURE), "Wrong amount of aperture rays");
+        assertTrue(statistics.getRays(RayType.SHADOW) > 0, "Shadow rays weren't counted");
+        assertTrue(statistics.getRays(RayType.REFLECTED) > 0, "Reflected rays weren't counted");
+        assertEquals(0, statistics.getRays(RayType.REFRACTED), "Scene has no transparent geometry");
+        // TC02: Intersection tests and times are collected
+        assertTrue(statistics.getIntersections().getTests(Sphere.class) >= 2000, "Sphere tests weren't counted");
+        assertTrue(statistics.getIntersections().getBoxTests() > 0, "Box tests weren't counted");
+        assertTrue(statistics.getNanos(Phase.TILE_BUSY) > 0, "Tile time wasn't measured");
+        assertTrue(statistics.getNanos(Phase.TILES) > 0, "Render time wasn't measured");
+        assertTrue(statistics.toString().contains("camera 400"), "Wrong report " + statistics);
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Statistics are reset by the next render
+        camera.setDof(150, 2, 0).renderImage();
+        assertEquals(400, statistics.getTotalRays() - statistics.getRays(RayType.SHADOW)
+                - statistics.getRays(RayType.REFLECTED), "Statistics weren't reset");
+        // TC04: Render without statistics counts nothing
+        camera.setStatistics(null).renderImage();
+        assertEquals(400, statistics.getRays(RayType.CAMERA), "Statistics were collected");
+    }
+}
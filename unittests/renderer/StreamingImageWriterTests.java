@@ -0,0 +1,132 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Color;
+import renderer.StreamingImageWriter.Format;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing StreamingImageWriter
+ *
+ * @author Avidan and Ziv
+ */
+class StreamingImageWriterTests {
+    /**
+     * Folder for the image files
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * Width of the test images
+     */
+    private static final int WIDTH = 300;
+    /**
+     * Height of the test images
+     */
+    private static final int HEIGHT = 200;
+
+    /**
+     * Fills the pixels with a gradient and completes them in bands out of order
+     *
+     * @param imageWriter the image writer
+     */
+    private static void render(ImageWriter imageWriter) {
+        for (int y = 0; y < HEIGHT; ++y)
+            for (int x = 0; x < WIDTH; ++x)
+                imageWriter.writePixel(x, y, new Color(x % 256, y, (x * y) % 300));
+        imageWriter.rowsCompleted(50, 100);
+        imageWriter.rowsCompleted(0, 50);
+        imageWriter.rowsCompleted(150, 200);
+        imageWriter.writeToImage();
+    }
+
+    /**
+     * Test method for {@link renderer.StreamingImageWriter#writeToImage()} in PNG.
+     */
+    @Test
+    void testPng() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Image is decoded back into the same pixels
+        Path path = folder.resolve("image.png");
+        StreamingImageWriter imageWriter = new StreamingImageWriter(path, Format.PNG, new FrameBuffer(WIDTH, HEIGHT));
+        render(imageWriter);
+        BufferedImage image = ImageIO.read(path.toFile());
+        assertEquals(WIDTH, image.getWidth(), "Wrong width");
+        assertEquals(HEIGHT, image.getHeight(), "Wrong height");
+        for (int y = 0; y < HEIGHT; ++y)
+            for (int x = 0; x < WIDTH; ++x)
+                assertEquals(imageWriter.getFrameBuffer().get(x, y).getColor().getRGB(), image.getRGB(x, y),
+                        "Wrong pixel " + x + "," + y);
+        // =============== Boundary Values Tests ==================
+        // TC02: Writer is reused for another image
+        render(imageWriter);
+        assertEquals(WIDTH, ImageIO.read(path.toFile()).getWidth(), "Second image is broken");
+    }
+
+    /**
+     * Test method for {@link renderer.StreamingImageWriter#writeToImage()} in PPM and PFM.
+     */
+    @Test
+    void testRawFormats() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: PPM header and clamped pixels
+        Path ppm = folder.resolve("image.ppm");
+        render(new StreamingImageWriter(ppm, Format.PPM, FrameBuffer.allocateDirect(WIDTH, HEIGHT)));
+        byte[] bytes = Files.readAllBytes(ppm);
+        String header = "P6\n" + WIDTH + ' ' + HEIGHT + "\n255\n";
+        assertEquals(header, new String(bytes, 0, header.length()), "Wrong PPM header");
+        assertEquals(header.length() + 3 * WIDTH * HEIGHT, bytes.length, "Wrong PPM size");
+        int at = header.length() + 3 * (WIDTH + 290);
+        assertEquals(290 % 256, bytes[at] & 0xFF, "Wrong red");
+        assertEquals(1, bytes[at + 1] & 0xFF, "Wrong green");
+        assertEquals(255, bytes[at + 2] & 0xFF, "Blue above 255 should be clamped");
+
+        // TC02: PFM rows are stored from bottom to top, in full range
+        Path pfm = folder.resolve("image.pfm");
+        render(new StreamingImageWriter(pfm, Format.PFM, new FrameBuffer(WIDTH, HEIGHT)));
+        bytes = Files.readAllBytes(pfm);
+        header = "PF\n" + WIDTH + ' ' + HEIGHT + "\n-1.0\n";
+        assertEquals(header, new String(bytes, 0, header.length()), "Wrong PFM header");
+        assertEquals(header.length() + 12 * WIDTH * HEIGHT, bytes.length, "Wrong PFM size");
+        ByteBuffer data = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        // the first stored pixel is the bottom left one (0, 199)
+        assertEquals(199 / 255f, data.getFloat(header.length() + 4), 1e-6, "Wrong bottom row");
+        assertEquals(0, data.getFloat(bytes.length - 8), 1e-6, "Wrong top row");
+        assertEquals((299 * 199 % 300) / 255f, data.getFloat(header.length() + 12 * 299 + 8), 1e-6,
+                "Full range should be kept");
+    }
+
+    /**
+     * Test method for {@link renderer.StreamingImageWriter#abort()}.
+     */
+    @Test
+    void testAbort() throws IOException {
+        Path path = folder.resolve("aborted.png");
+        StreamingImageWriter imageWriter = new StreamingImageWriter(path, Format.PNG, new FrameBuffer(WIDTH, HEIGHT));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: File of a failed render is closed and deleted
+        imageWriter.rowsCompleted(0, 50);
+        assertTrue(Files.exists(path), "Completed rows weren't written");
+        imageWriter.abort();
+        assertFalse(Files.exists(path), "Incomplete file wasn't deleted");
+        // TC02: Writer is reused after an abort
+        render(imageWriter);
+        assertEquals(HEIGHT, ImageIO.read(path.toFile()).getHeight(), "Image after an abort is broken");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Abort before any row was written keeps the file of the previous image
+        imageWriter.abort();
+        assertTrue(Files.exists(path), "File of the previous image was deleted");
+    }
+}
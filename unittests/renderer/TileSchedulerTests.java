@@ -0,0 +1,63 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testing TileScheduler
+ *
+ * @author Avidan and Ziv
+ */
+class TileSchedulerTests {
+    /**
+     * Test method for {@link renderer.TileScheduler#getTiles()}.
+     */
+    @Test
+    void testGetTiles() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Every order covers every pixel exactly once, also with partial tiles at the edges
+        for (TileOrder order : TileOrder.values()) {
+            List<Tile> tiles = new TileScheduler(37, 21, 8, order).getTiles();
+            assertEquals(5 * 3, tiles.size(), "Wrong amount of tiles in " + order);
+            int[] covered = new int[37 * 21];
+            for (Tile tile : tiles)
+                for (int i = tile.y0(); i < tile.y1(); i++)
+                    for (int j = tile.x0(); j < tile.x1(); j++)
+                        ++covered[i * 37 + j];
+            for (int count : covered)
+                assertEquals(1, count, "Pixel not covered exactly once in " + order);
+        }
+
+        // TC02: Consecutive tiles along the Hilbert curve are neighbours
+        List<Tile> tiles = new TileScheduler(64, 64, 8, TileOrder.HILBERT).getTiles();
+        for (int i = 1; i < tiles.size(); i++) {
+            Tile a = tiles.get(i - 1), b = tiles.get(i);
+            assertEquals(8, Math.abs(a.x0() - b.x0()) + Math.abs(a.y0() - b.y0()), "Hilbert curve jumps");
+        }
+
+        // =============== Boundary Values Tests ==============
+        // TC03: The tile is larger than the image
+        assertEquals(List.of(new Tile(0, 0, 0, 5, 3)), new TileScheduler(5, 3, 16, TileOrder.SPIRAL).getTiles(),
+                "Wrong single tile");
+        // TC04: The spiral starts at the center tile
+        assertEquals(4, new TileScheduler(9, 9, 3, TileOrder.SPIRAL).getTiles().get(0).index(), "Spiral doesn't start at center");
+    }
+
+    /**
+     * Test method for {@link renderer.TileScheduler#run(int, java.util.function.Consumer)}.
+     */
+    @Test
+    void testRun() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Every tile is rendered exactly once by several threads
+        TileScheduler scheduler = new TileScheduler(100, 100, 7, TileOrder.Z_ORDER);
+        AtomicIntegerArray rendered = new AtomicIntegerArray(scheduler.getTiles().size());
+        scheduler.run(4, tile -> rendered.incrementAndGet(tile.index()));
+        for (int i = 0; i < rendered.length(); i++)
+            assertEquals(1, rendered.get(i), "Tile not rendered exactly once");
+    }
+}
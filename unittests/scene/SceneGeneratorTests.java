@@ -0,0 +1,165 @@
+package scene;
+
+import geometries.Intersectable.AABB;
+import geometries.Intersectable.GeoPoint;
+import lighting.SpotLight;
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing SceneGenerator
+ *
+ * @author Avidan and Ziv
+ */
+class SceneGeneratorTests {
+    /**
+     * Casts a grid of rays at the scene along the Z axis, from the front of the default bounds
+     *
+     * @param scene the scene
+     * @return the closest intersection point of every ray, null for a miss
+     */
+    private static List<Point> trace(Scene scene) {
+        List<Point> points = new ArrayList<>();
+        for (int y = -95; y < 100; y += 10)
+            for (int x = -95; x < 100; x += 10) {
+                GeoPoint gp = scene.geometries.findClosestGeoIntersection(
+                        new Ray(new Point(x, y, 1000), new Vector(0, 0, -1)));
+                points.add(gp == null ? null : gp.point);
+            }
+        return points;
+    }
+
+    /**
+     * Test method for {@link scene.SceneGenerator#addSpheres(Scene, int)}.
+     */
+    @Test
+    void testAddSpheres() {
+        Scene scene = new Scene("spheres");
+        new SceneGenerator(5).addSpheres(scene, 1000);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Same seed builds the same scene
+        Scene same = new Scene("same");
+        new SceneGenerator(5).addSpheres(same, 1000);
+        List<Point> points = trace(scene);
+        assertEquals(points, trace(same), "Same seed built another scene");
+        assertTrue(points.stream().anyMatch(p -> p != null), "Spheres weren't hit");
+        // TC02: Another seed builds another scene
+        Scene other = new Scene("other");
+        new SceneGenerator(6).addSpheres(other, 1000);
+        assertNotEquals(points, trace(other), "Another seed built the same scene");
+        // TC03: The spheres are inside the bounds (the scene box is slightly expanded)
+        AABB box = scene.geometries.bbox;
+        assertTrue(box.getMin().getX() > -101 && box.getMin().getY() > -101 && box.getMin().getZ() > -101
+                && box.getMax().getX() < 101 && box.getMax().getY() < 101 && box.getMax().getZ() < 101,
+                "Spheres out of the bounds");
+
+        // =============== Boundary Values Tests ==================
+        // TC04: A call doesn't change the primitives of the following calls
+        Scene few = new Scene("few"), many = new Scene("many");
+        Scene afterFew = new Scene("after few"), afterMany = new Scene("after many");
+        new SceneGenerator(5).addSpheres(few, 10).addSpheres(afterFew, 100);
+        new SceneGenerator(5).addSpheres(many, 1000).addSpheres(afterMany, 100);
+        assertEquals(trace(afterFew), trace(afterMany), "Previous call changed the scene");
+        // TC05: Amount must be positive
+        assertThrows(IllegalArgumentException.class, () -> new SceneGenerator(5).addSpheres(scene, 0),
+                "Added no spheres");
+        assertThrows(IllegalArgumentException.class,
+                () -> new SceneGenerator(5).setBounds(new Point(0, 0, 0), new Point(1, 0, 1)), "Set empty bounds");
+    }
+
+    /**
+     * Test method for {@link scene.SceneGenerator#addMesh(Scene, int)}.
+     */
+    @Test
+    void testAddMesh() {
+        Vector down = new Vector(0, -1, 0);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The terrain covers the bounds, in their lowest quarter
+        Scene scene = new Scene("mesh");
+        new SceneGenerator(5).addMesh(scene, 20000);
+        // the rays are off the edges of the faces (squares of side 2)
+        for (double z = -94.3; z < 100; z += 10)
+            for (double x = -95; x < 100; x += 10) {
+                GeoPoint gp = scene.geometries.findClosestGeoIntersection(new Ray(new Point(x, 1000, z), down));
+                assertNotNull(gp, "Ray missed the terrain");
+                assertTrue(gp.point.getY() >= -100 && gp.point.getY() <= -50, "Terrain out of its height");
+            }
+        // TC02: Same seed builds the same terrain
+        Scene same = new Scene("same");
+        new SceneGenerator(5).addMesh(same, 20000);
+        Ray ray = new Ray(new Point(13.3, 1000, -27.1), down);
+        assertEquals(scene.geometries.findClosestGeoIntersection(ray).point,
+                same.geometries.findClosestGeoIntersection(ray).point, "Same seed built another terrain");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Single triangle covers half the first square
+        Scene single = new Scene("single");
+        new SceneGenerator(5).addMesh(single, 1);
+        assertNotNull(single.geometries.findClosestGeoIntersection(new Ray(new Point(-90, 1000, -90), down)),
+                "Ray missed the triangle");
+        assertNull(single.geometries.findClosestGeoIntersection(new Ray(new Point(90, 1000, 90), down)),
+                "Ray hit the missing triangle");
+        // TC04: Amount must be positive
+        assertThrows(IllegalArgumentException.class, () -> new SceneGenerator(5).addMesh(scene, 0),
+                "Added an empty mesh");
+    }
+
+    /**
+     * Test method for {@link scene.SceneGenerator#addPolygonGrid(Scene, int, int)}.
+     */
+    @Test
+    void testAddPolygonGrid() {
+        Scene scene = new Scene("grid");
+        new SceneGenerator(5).addPolygonGrid(scene, 4, 4);
+        Vector back = new Vector(0, 0, -1);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Rays at the centers of the tiles hit them at the back of the bounds
+        for (int y = -75; y < 100; y += 50)
+            for (int x = -75; x < 100; x += 50) {
+                GeoPoint gp = scene.geometries.findClosestGeoIntersection(new Ray(new Point(x, y, 1000), back));
+                assertNotNull(gp, "Ray missed the tile");
+                assertTrue(gp.point.getZ() >= -100 && gp.point.getZ() <= -50, "Tile out of the back");
+            }
+        // TC02: Rays between the tiles miss them
+        assertNull(scene.geometries.findClosestGeoIntersection(new Ray(new Point(-50, -75, 1000), back)),
+                "Ray hit the gap between the tiles");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Grid size must be positive
+        assertThrows(IllegalArgumentException.class, () -> new SceneGenerator(5).addPolygonGrid(scene, 0, 4),
+                "Added an empty grid");
+    }
+
+    /**
+     * Test method for {@link scene.SceneGenerator#addLights(Scene, int)}.
+     */
+    @Test
+    void testAddLights() {
+        Scene scene = new Scene("lights");
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Every third light is a spot light
+        new SceneGenerator(5).addLights(scene, 30);
+        assertEquals(30, scene.lights.size(), "Wrong amount of lights");
+        assertEquals(10, scene.lights.stream().filter(light -> light instanceof SpotLight).count(),
+                "Wrong amount of spot lights");
+        // TC02: The intensity is divided among the lights
+        Point center = new Point(0, 0, 0);
+        Scene single = new Scene("single");
+        new SceneGenerator(5).addLights(single, 1);
+        // the first lights of the same seed are in the same place
+        assertEquals(single.lights.get(0).getIntensity(center).getRed() / 30,
+                scene.lights.get(0).getIntensity(center).getRed(), 1e-9, "Intensity wasn't divided");
+
+        // =============== Boundary Values Tests ==================
+        // TC03: Amount must be positive
+        assertThrows(IllegalArgumentException.class, () -> new SceneGenerator(5).addLights(scene, 0),
+                "Added no lights");
+    }
+}